@@ -153,6 +153,88 @@ CREATE TABLE IF NOT EXISTS notices (
     FOREIGN KEY (created_by) REFERENCES users(user_id)
 );
 
+-- Archive tables for soft-deleted students and their dependent rows (see StudentArchiver).
+-- No foreign keys, so rows can be moved in any order and the live tables stay small.
+CREATE TABLE IF NOT EXISTS students_archive (
+    student_id INT PRIMARY KEY,
+    user_id INT,
+    student_number VARCHAR(20) NOT NULL,
+    date_of_birth DATE,
+    gender ENUM('MALE', 'FEMALE', 'OTHER'),
+    address TEXT,
+    phone_number VARCHAR(20),
+    parent_contact VARCHAR(20),
+    enrollment_date DATE,
+    graduation_date DATE NULL,
+    is_active BOOLEAN DEFAULT FALSE,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_students_archive_number (student_number)
+);
+
+CREATE TABLE IF NOT EXISTS student_classes_archive (
+    enrollment_id INT PRIMARY KEY,
+    student_id INT NOT NULL,
+    class_id INT NOT NULL,
+    enrollment_date DATE,
+    status ENUM('ACTIVE', 'TRANSFERRED', 'GRADUATED', 'DROPPED'),
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_student_classes_archive_student (student_id)
+);
+
+CREATE TABLE IF NOT EXISTS grades_archive (
+    grade_id INT PRIMARY KEY,
+    student_id INT NOT NULL,
+    subject_id INT NOT NULL,
+    class_id INT NOT NULL,
+    exam_type ENUM('QUIZ', 'MIDTERM', 'FINAL', 'ASSIGNMENT', 'PROJECT') NOT NULL,
+    marks_obtained DECIMAL(5,2),
+    total_marks DECIMAL(5,2),
+    grade_letter VARCHAR(2),
+    semester VARCHAR(20),
+    academic_year VARCHAR(10),
+    created_at TIMESTAMP NULL,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_grades_archive_student (student_id)
+);
+
+CREATE TABLE IF NOT EXISTS attendance_archive (
+    attendance_id INT PRIMARY KEY,
+    student_id INT NOT NULL,
+    class_id INT NOT NULL,
+    attendance_date DATE NOT NULL,
+    status ENUM('PRESENT', 'ABSENT', 'LATE', 'EXCUSED') NOT NULL,
+    remarks TEXT,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_attendance_archive_student (student_id)
+);
+
+CREATE TABLE IF NOT EXISTS fees_archive (
+    fee_id INT PRIMARY KEY,
+    student_id INT NOT NULL,
+    fee_type ENUM('TUITION', 'TRANSPORT', 'LIBRARY', 'LAB', 'SPORTS', 'OTHER') NOT NULL,
+    amount DECIMAL(10,2) NOT NULL,
+    due_date DATE NOT NULL,
+    paid_date DATE NULL,
+    payment_method ENUM('CASH', 'CARD', 'BANK_TRANSFER', 'CHEQUE') NULL,
+    status ENUM('PENDING', 'PAID', 'OVERDUE', 'WAIVED'),
+    remarks TEXT,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_fees_archive_student (student_id)
+);
+
+-- Authentication audit trail, written in batches by AuthAuditLog.
+-- No foreign key: attempts for unknown usernames are recorded too.
+CREATE TABLE IF NOT EXISTS auth_audit (
+    audit_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    occurred_at TIMESTAMP(3) NOT NULL,
+    username VARCHAR(50) NOT NULL,
+    user_id INT NULL,
+    client_id VARCHAR(100),
+    outcome ENUM('SUCCESS', 'INVALID_PASSWORD', 'UNKNOWN_USER', 'THROTTLED', 'BUSY', 'ERROR') NOT NULL,
+    INDEX idx_auth_audit_username (username, occurred_at),
+    INDEX idx_auth_audit_occurred (occurred_at)
+);
+
 -- Insert default users (password: admin123)
 INSERT INTO users (username, password_hash, email, first_name, last_name, role) VALUES 
 ('admin', '$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy', 'admin@school.com', 'System', 'Administrator', 'ADMIN'),
@@ -207,7 +289,12 @@ ON DUPLICATE KEY UPDATE status = status;
 -- Create indexes for better performance
 CREATE INDEX idx_users_username ON users(username);
 CREATE INDEX idx_users_email ON users(email);
+-- Lets each client's username/email filters pick up rows written by other clients (UserKeyFilter)
+CREATE INDEX idx_users_updated_at ON users(updated_at);
 CREATE INDEX idx_students_student_number ON students(student_number);
+-- (is_active, student_id): lets keyset-paginated listings seek straight to the cursor
+CREATE INDEX idx_students_active ON students(is_active, student_id);
+CREATE INDEX idx_students_enrollment_date ON students(enrollment_date);
 CREATE INDEX idx_teachers_employee_number ON teachers(employee_number);
 CREATE INDEX idx_grades_student_subject ON grades(student_id, subject_id);
 CREATE INDEX idx_attendance_student_date ON attendance(student_id, attendance_date);
@@ -0,0 +1,139 @@
+package com.schoolmanagement.benchmark;
+
+import com.schoolmanagement.config.DatabaseConfig;
+import com.schoolmanagement.dao.UserDAO;
+import com.schoolmanagement.model.User;
+import com.schoolmanagement.util.PasswordUtil;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * End-to-end UserDAO.authenticateUser against an in-memory H2 database in MySQL mode:
+ * login query with the profile join, hashing pool hand-off and BCrypt verify.
+ * Throttle limits are raised for the forked JVM so the benchmark measures capacity, not the throttle,
+ * and the offline store is switched off so logins do not write a profile cache to the home directory.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(Threads.MAX)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {
+    "-Dsecurity.throttle.username.burst=1000000",
+    "-Dsecurity.throttle.username.per.minute=60000000",
+    "-Dsecurity.throttle.client.burst=1000000",
+    "-Dsecurity.throttle.client.per.minute=60000000",
+    "-Dsecurity.hashing.queue.capacity=1024",
+    "-Doffline.enabled=false",
+    "-Doffline.dir=target/jmh-offline"
+})
+@State(Scope.Benchmark)
+public class AuthenticationBenchmark {
+
+    @Param({"10", "12"})
+    public int rounds;
+
+    private static final int USERS = 64;
+    private static final String PASSWORD = "Correct-Horse-42";
+
+    private final AtomicInteger next = new AtomicInteger();
+    private UserDAO userDAO;
+    private HikariDataSource dataSource;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Benchmarks.quietLogging();
+        PasswordUtil.setWorkFactor(rounds);
+
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("h2-benchmark");
+        config.setJdbcUrl("jdbc:h2:mem:auth_" + rounds + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(Runtime.getRuntime().availableProcessors() * 2);
+        dataSource = new HikariDataSource(config);
+        createSchema();
+        DatabaseConfig.useDataSource(dataSource);
+
+        userDAO = new UserDAO();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DatabaseConfig.closeDataSource();
+    }
+
+    @Benchmark
+    public Optional<User> authenticateUser() {
+        int user = Math.floorMod(next.getAndIncrement(), USERS);
+        return userDAO.authenticateUser("bench" + user, PASSWORD);
+    }
+
+    private void createSchema() throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE users (user_id INT PRIMARY KEY AUTO_INCREMENT, " +
+                    "username VARCHAR(50) UNIQUE NOT NULL, password_hash VARCHAR(255) NOT NULL, " +
+                    "email VARCHAR(100) UNIQUE NOT NULL, first_name VARCHAR(50) NOT NULL, " +
+                    "last_name VARCHAR(50) NOT NULL, role ENUM('ADMIN', 'TEACHER', 'STUDENT', 'PARENT') NOT NULL, " +
+                    "is_active BOOLEAN DEFAULT TRUE, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP)");
+            stmt.execute("CREATE TABLE students (student_id INT PRIMARY KEY AUTO_INCREMENT, user_id INT, " +
+                    "student_number VARCHAR(20) UNIQUE NOT NULL, date_of_birth DATE, " +
+                    "gender ENUM('MALE', 'FEMALE', 'OTHER'), address TEXT, phone_number VARCHAR(20), " +
+                    "parent_contact VARCHAR(20), enrollment_date DATE, graduation_date DATE, " +
+                    "is_active BOOLEAN DEFAULT TRUE)");
+            stmt.execute("CREATE TABLE teachers (teacher_id INT PRIMARY KEY AUTO_INCREMENT, user_id INT, " +
+                    "employee_number VARCHAR(20) UNIQUE NOT NULL, department VARCHAR(50), " +
+                    "specialization VARCHAR(100), hire_date DATE, salary DECIMAL(10,2), " +
+                    "is_active BOOLEAN DEFAULT TRUE)");
+            stmt.execute("CREATE TABLE auth_audit (audit_id BIGINT PRIMARY KEY AUTO_INCREMENT, " +
+                    "occurred_at TIMESTAMP(3) NOT NULL, username VARCHAR(50) NOT NULL, user_id INT NULL, " +
+                    "client_id VARCHAR(100), outcome ENUM('SUCCESS', 'INVALID_PASSWORD', 'UNKNOWN_USER', " +
+                    "'THROTTLED', 'BUSY', 'ERROR') NOT NULL)");
+        }
+
+        String hash = PasswordUtil.hashPassword(PASSWORD);
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement users = conn.prepareStatement(
+                     "INSERT INTO users (username, password_hash, email, first_name, last_name, role) " +
+                     "VALUES (?, ?, ?, 'Bench', 'User', ?)");
+             PreparedStatement students = conn.prepareStatement(
+                     "INSERT INTO students (user_id, student_number) VALUES (?, ?)")) {
+            for (int i = 0; i < USERS; i++) {
+                // Half students, so both the joined and the profile-less path are exercised
+                boolean student = i % 2 == 0;
+                users.setString(1, "bench" + i);
+                users.setString(2, hash);
+                users.setString(3, "bench" + i + "@bench.local");
+                users.setString(4, student ? "STUDENT" : "ADMIN");
+                users.executeUpdate();
+                if (student) {
+                    students.setInt(1, i + 1);
+                    students.setString(2, "BENCH" + i);
+                    students.executeUpdate();
+                }
+            }
+        }
+    }
+}
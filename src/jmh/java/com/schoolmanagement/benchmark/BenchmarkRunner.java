@@ -0,0 +1,55 @@
+package com.schoolmanagement.benchmark;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs the JMH benchmarks and prints each score per core, which is the number to size
+ * login servers with. Accepts the usual JMH command line, e.g. "Authentication -p rounds=12".
+ */
+public class BenchmarkRunner {
+    private static final String PACKAGE = BenchmarkRunner.class.getPackage().getName();
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        if (commandLine.getIncludes().isEmpty()) {
+            builder.include(PACKAGE + ".*Benchmark");
+        }
+        Options options = builder.parent(commandLine).build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        printPerCore(results);
+    }
+
+    private static void printPerCore(Collection<RunResult> results) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.println();
+        System.out.printf("Throughput per core (%d cores)%n", cores);
+        System.out.printf("%-60s %14s %14s%n", "Benchmark", "ops/s", "ops/s/core");
+
+        for (RunResult result : results) {
+            String name = result.getParams().getBenchmark().substring(PACKAGE.length() + 1);
+            Map<String, String> params = new TreeMap<>();
+            for (String key : result.getParams().getParamsKeys()) {
+                params.put(key, result.getParams().getParam(key));
+            }
+            if (!params.isEmpty()) {
+                name += " " + params;
+            }
+            // The score is summed over the benchmark threads; more threads than cores cannot add capacity
+            double score = result.getPrimaryResult().getScore();
+            int busyCores = Math.max(1, Math.min(result.getParams().getThreads(), cores));
+            System.out.printf("%-60s %14.1f %14.1f%n", name, score, score / busyCores);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.schoolmanagement.benchmark;
+
+import com.schoolmanagement.util.PasswordUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password policy checks on a mix of accepted and rejected inputs
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(Threads.MAX)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordValidationBenchmark {
+
+    private final String[] passwords = {
+        "Correct-Horse-42", "short", "alllowercaseletters", "NoDigitsHere!", "Tr0ub4dor&3", ""
+    };
+
+    @Benchmark
+    public void isValidPassword(Blackhole blackhole) {
+        for (String password : passwords) {
+            blackhole.consume(PasswordUtil.isValidPassword(password));
+        }
+    }
+}
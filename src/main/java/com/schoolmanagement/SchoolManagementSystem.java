@@ -1,11 +1,17 @@
 package com.schoolmanagement;
 
 import com.schoolmanagement.config.DatabaseConfig;
+import com.schoolmanagement.dao.AuthAuditLog;
+import com.schoolmanagement.dao.OfflineStore;
+import com.schoolmanagement.ui.EdtExecutor;
 import com.schoolmanagement.ui.LoginWindow;
+import com.schoolmanagement.util.MetricsRegistry;
+import com.schoolmanagement.util.PasswordUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Main application class for School Management System
@@ -21,24 +27,17 @@ public class SchoolManagementSystem {
         // Initialize logging
         logger.info("Starting School Management System...");
         
-        // Test database connection
-        boolean dbConnected = DatabaseConfig.testConnection();
-        if (!dbConnected) {
-            logger.warn("Database connection failed. Running in offline mode.");
-            int result = JOptionPane.showConfirmDialog(null, 
-                "Database connection failed!\n" +
-                "Would you like to continue in offline mode for testing?\n" +
-                "(Some features may not work without database)",
-                "Database Error", 
-                JOptionPane.YES_NO_OPTION, 
-                JOptionPane.WARNING_MESSAGE);
-            
-            if (result != JOptionPane.YES_OPTION) {
-                System.exit(1);
-            }
-        }
+        // Pick a BCrypt cost that suits this host; older hashes are upgraded on login
+        PasswordUtil.calibrateInBackground();
+        
+        // Pool and DAO metrics over JMX, the local /metrics endpoint and the log
+        MetricsRegistry.getInstance().start();
+        
+        // Connect in the background; the login window does not wait for the pool
+        CompletableFuture<Boolean> database = DatabaseConfig.startAsync();
         
-        logger.info("Database connection successful");
+        // Local cache and write journal used while the database is unreachable
+        OfflineStore offline = OfflineStore.getInstance();
         
         // Set look and feel
         try {
@@ -52,6 +51,7 @@ public class SchoolManagementSystem {
             try {
                 LoginWindow loginWindow = new LoginWindow();
                 loginWindow.setVisible(true);
+                loginWindow.trackDatabaseStartup(database);
                 logger.info("Login window displayed successfully");
             } catch (Exception e) {
                 logger.error("Error starting application", e);
@@ -63,11 +63,46 @@ public class SchoolManagementSystem {
             }
         });
         
+        EdtExecutor.deliver(database,
+            connected -> {
+                if (connected) {
+                    logger.info("Database connection successful");
+                    // Writes journaled during an earlier outage
+                    offline.replayInBackground();
+                } else {
+                    offline.markOffline("database startup failed");
+                    offerOfflineMode();
+                }
+            },
+            error -> {
+                offline.markOffline("database startup failed");
+                offerOfflineMode();
+            });
+        
         // Add shutdown hook to close database connections
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             logger.info("Shutting down School Management System...");
+            // Flush buffered audit events while the pool is still open
+            AuthAuditLog.getInstance().close(5000);
+            offline.close();
             DatabaseConfig.closeDataSource();
             logger.info("Application shutdown complete");
         }));
     }
+    
+    private static void offerOfflineMode() {
+        logger.warn("Database connection failed. Running in offline mode.");
+        int result = JOptionPane.showConfirmDialog(null, 
+            "Database connection failed!\n" +
+            "Would you like to continue in offline mode?\n" +
+            "Recently viewed students can be browsed, and student edits and attendance\n" +
+            "are saved locally and sent when the connection returns.",
+            "Database Error", 
+            JOptionPane.YES_NO_OPTION, 
+            JOptionPane.WARNING_MESSAGE);
+        
+        if (result != JOptionPane.YES_OPTION) {
+            System.exit(1);
+        }
+    }
 }
@@ -3,6 +3,8 @@ package com.schoolmanagement.config;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Application configuration management
@@ -37,29 +39,56 @@ public class AppConfig {
         properties.setProperty("database.port", "3306");
         properties.setProperty("database.name", "school_management_system");
         properties.setProperty("database.username", "root");
-        properties.setProperty("database.password", "password");
         properties.setProperty("ui.lookandfeel", "system");
         properties.setProperty("logging.level", "INFO");
     }
 
+    /**
+     * Look up a setting. A JVM system property of the same name (-Dkey=value) overrides
+     * application.properties, so single settings can be changed per run.
+     * @param key the property key
+     * @return the value, or null if unset
+     */
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        String override = System.getProperty(key);
+        return override != null ? override : properties.getProperty(key);
+    }
+
+    /**
+     * List the keys starting with a prefix, from application.properties and system properties
+     * @param prefix the key prefix, e.g. "database."
+     * @return the matching keys, sorted
+     */
+    public static Set<String> getPropertyNames(String prefix) {
+        Set<String> names = new TreeSet<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(prefix)) {
+                names.add(name);
+            }
+        }
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith(prefix)) {
+                names.add(name);
+            }
+        }
+        return names;
     }
 
     public static String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        String value = getProperty(key);
+        return value != null ? value : defaultValue;
     }
 
     public static int getIntProperty(String key, int defaultValue) {
         try {
-            return Integer.parseInt(properties.getProperty(key));
+            return Integer.parseInt(getProperty(key));
         } catch (NumberFormatException e) {
             return defaultValue;
         }
     }
 
     public static boolean getBooleanProperty(String key, boolean defaultValue) {
-        return Boolean.parseBoolean(properties.getProperty(key, String.valueOf(defaultValue)));
+        return Boolean.parseBoolean(getProperty(key, String.valueOf(defaultValue)));
     }
 
     // Convenience methods for common properties
@@ -88,6 +117,6 @@ public class AppConfig {
     }
 
     public static String getDatabasePassword() {
-        return getProperty("database.password", "password");
+        return getProperty("database.password", "");
     }
 }
@@ -1,65 +1,147 @@
 package com.schoolmanagement.config;
 
+import com.schoolmanagement.util.MetricsRegistry;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.util.PropertyElf;
+import com.zaxxer.hikari.util.UtilityElf;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
 import java.sql.Connection;
+import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Database configuration and connection management
+ * Database configuration and connection management.
+ * <p>
+ * Settings live in the database.* namespace and are resolved in this order, later wins:
+ * built-in defaults, database.properties on the classpath (HikariCP format), application.properties,
+ * environment variables (key upper-cased with dots as underscores, e.g. DATABASE_PASSWORD or
+ * DATABASE_POOL_MAXIMUMPOOLSIZE) and finally -D system properties. Keys:
+ * <ul>
+ *   <li>database.host, database.port, database.name, database.username, database.password</li>
+ *   <li>database.pool.&lt;hikariProperty&gt;, e.g. database.pool.maximumPoolSize</li>
+ *   <li>database.driver.&lt;driverProperty&gt;, e.g. database.driver.useCursorFetch</li>
+ * </ul>
+ * The merged settings are validated before the pool starts; see PoolSizing for choosing the pool size.
+ * <p>
+ * With database.replica.enabled=true a second, read-only pool is opened against a replica. Its settings
+ * are the primary's, overridden by any database.replica.* key (e.g. database.replica.host or
+ * database.replica.pool.maximumPoolSize). Read-only DAO methods use {@link #getReadConnection()};
+ * for database.replica.stickiness.ms after a write they are sent to the primary instead, so the
+ * user sees their own changes while the replica catches up.
+ * <p>
+ * Nothing connects while the class loads. {@link #startAsync()} opens the pools on a background thread;
+ * otherwise the first {@link #getConnection()} starts them and waits.
  */
 public class DatabaseConfig {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseConfig.class);
-    private static HikariDataSource dataSource;
+    private static volatile HikariDataSource dataSource;
+    private static volatile HikariDataSource replicaDataSource;
+    private static volatile long stickinessNanos;
+    private static final AtomicLong lastWriteNanos = new AtomicLong(System.nanoTime() - TimeUnit.DAYS.toNanos(1));
+    private static volatile long replicaRetryAtNanos = System.nanoTime();
+    private static final long REPLICA_RETRY_NANOS = TimeUnit.SECONDS.toNanos(30);
     private static final String CONFIG_FILE = "database.properties";
+    private static final int MAXIMUM_POOL_SIZE = 10;
 
-    static {
+    private static final String PREFIX = "database.";
+    private static final String POOL_PREFIX = "database.pool.";
+    private static final String DRIVER_PREFIX = "database.driver.";
+    private static final String REPLICA_PREFIX = "database.replica.";
+
+    private static volatile CompletableFuture<Boolean> startup;
+    private static Map<String, String> settings;
+    private static volatile boolean closed;
+
+    /**
+     * Start the connection pools on a background thread. Returns at once.
+     * If an earlier attempt failed, a new one is started; otherwise the current attempt is returned.
+     * @return a future completed with true once the database is usable, or false if it could not be
+     * reached and the application should run in offline mode
+     */
+    public static synchronized CompletableFuture<Boolean> startAsync() {
+        if (startup == null || hasFailed(startup)) {
+            CompletableFuture<Boolean> attempt = new CompletableFuture<>();
+            startup = attempt;
+            closed = false;
+            Thread thread = new Thread(() -> {
+                try {
+                    attempt.complete(initialize());
+                } catch (Throwable t) {
+                    attempt.completeExceptionally(t);
+                }
+            }, "db-startup");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return startup;
+    }
+
+    private static boolean hasFailed(CompletableFuture<Boolean> attempt) {
+        return attempt.isCompletedExceptionally() || Boolean.FALSE.equals(attempt.getNow(null));
+    }
+
+    private static synchronized CompletableFuture<Boolean> currentStartup() {
+        return startup != null ? startup : startAsync();
+    }
+
+    private static synchronized Map<String, String> settings() {
+        if (settings == null) {
+            settings = loadSettings();
+        }
+        return settings;
+    }
+
+    private static boolean initialize() {
+        long started = System.nanoTime();
         try {
             initializeDataSource();
+            logger.info("Database ready after {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            return true;
         } catch (Exception e) {
-            logger.warn("Database initialization failed - running in offline mode", e);
-            dataSource = null; // Will be handled gracefully by the application
+            logger.warn("Database initialization failed after {} ms - running in offline mode",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), e);
+            return false;
         }
     }
 
     private static void initializeDataSource() {
         try {
-            Properties props = new Properties();
-            
-            // Default configuration - can be overridden by properties file
-            props.setProperty("dataSourceClassName", "com.mysql.cj.jdbc.MysqlDataSource");
-            props.setProperty("dataSource.serverName", "localhost");
-            props.setProperty("dataSource.port", "3306");
-            props.setProperty("dataSource.databaseName", "school_management_system");
-            props.setProperty("dataSource.user", "root");
-            props.setProperty("dataSource.password", "root1234");
-            props.setProperty("dataSource.cachePrepStmts", "true");
-            props.setProperty("dataSource.prepStmtCacheSize", "250");
-            props.setProperty("dataSource.prepStmtCacheSqlLimit", "2048");
-            props.setProperty("dataSource.useServerPrepStmts", "true");
-            props.setProperty("dataSource.useLocalSessionState", "true");
-            props.setProperty("dataSource.rewriteBatchedStatements", "true");
-            props.setProperty("dataSource.cacheResultSetMetadata", "true");
-            props.setProperty("dataSource.cacheServerConfiguration", "true");
-            props.setProperty("dataSource.elideSetAutoCommits", "true");
-            props.setProperty("dataSource.maintainTimeStats", "false");
+            Map<String, String> settings = settings();
+            List<String> problems = validate(settings);
+            if (!problems.isEmpty()) {
+                for (String problem : problems) {
+                    logger.error("Invalid database setting: {}", problem);
+                }
+                throw new IllegalStateException("Invalid database configuration: " + String.join("; ", problems));
+            }
+
+            HikariConfig config = new HikariConfig(toHikariProperties(settings));
+            config.setMetricsTrackerFactory(new PoolMetricsTrackerFactory("pool"));
+            publish(new HikariDataSource(config), false);
             
-            // Connection pool settings
-            props.setProperty("maximumPoolSize", "10");
-            props.setProperty("minimumIdle", "2");
-            props.setProperty("connectionTimeout", "30000");
-            props.setProperty("idleTimeout", "600000");
-            props.setProperty("maxLifetime", "1800000");
-            props.setProperty("leakDetectionThreshold", "60000");
-
-            HikariConfig config = new HikariConfig(props);
-            dataSource = new HikariDataSource(config);
+            logger.info("Database connection pool initialized successfully: {}@{}:{}/{}, maximumPoolSize={}",
+                    settings.get("database.username"), settings.get("database.host"), settings.get("database.port"),
+                    settings.get("database.name"), dataSource.getMaximumPoolSize());
             
-            logger.info("Database connection pool initialized successfully");
+            if (Boolean.parseBoolean(settings.get(REPLICA_PREFIX + "enabled"))) {
+                initializeReplica(settings);
+            }
             
         } catch (Exception e) {
             logger.error("Failed to initialize database connection pool", e);
@@ -68,15 +150,449 @@ public class DatabaseConfig {
     }
 
     /**
-     * Get a database connection from the pool
+     * Make a pool built on the startup thread visible, unless closeDataSource() ran while it was
+     * connecting. Checked under the lock closeDataSource() takes, so a pool is never left open behind it.
+     */
+    private static synchronized void publish(HikariDataSource created, boolean replica) {
+        if (closed) {
+            created.close();
+            throw new IllegalStateException("Database was closed during startup");
+        }
+        if (replica) {
+            replicaDataSource = created;
+        } else {
+            dataSource = created;
+        }
+    }
+
+    /**
+     * Open the read-only replica pool. The pool starts even if the replica cannot be reached yet;
+     * getReadConnection then uses the primary until the replica answers. Only a bad configuration
+     * leaves the pool unopened.
+     */
+    private static void initializeReplica(Map<String, String> settings) {
+        stickinessNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(settings.get(REPLICA_PREFIX + "stickiness.ms")));
+        Map<String, String> replica = replicaSettings(settings);
+        try {
+            HikariConfig config = new HikariConfig(toHikariProperties(replica));
+            config.setPoolName(replica.getOrDefault(POOL_PREFIX + "poolName", "replica"));
+            config.setReadOnly(true);
+            config.setMetricsTrackerFactory(new PoolMetricsTrackerFactory("replica.pool"));
+            publish(new HikariDataSource(config), true);
+            logger.info("Replica connection pool initialized: {}@{}:{}/{}, maximumPoolSize={}, stickiness={} ms",
+                    replica.get("database.username"), replica.get("database.host"), replica.get("database.port"),
+                    replica.get("database.name"), replicaDataSource.getMaximumPoolSize(),
+                    TimeUnit.NANOSECONDS.toMillis(stickinessNanos));
+        } catch (RuntimeException e) {
+            logger.warn("Replica connection pool could not be started, all reads will use the primary: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Derive the replica's settings: the primary's, with every database.replica.* key replacing its database.* twin
+     * @param settings the merged settings
+     * @return the settings for the replica pool
+     */
+    static Map<String, String> replicaSettings(Map<String, String> settings) {
+        Map<String, String> replica = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : settings.entrySet()) {
+            if (!entry.getKey().startsWith(REPLICA_PREFIX)) {
+                replica.put(entry.getKey(), entry.getValue());
+            }
+        }
+        // The primary's pool name would clash with the replica's in JMX
+        replica.remove(POOL_PREFIX + "poolName");
+        for (Map.Entry<String, String> entry : settings.entrySet()) {
+            String key = entry.getKey();
+            if (key.startsWith(REPLICA_PREFIX) && !isReplicaOption(key)) {
+                replica.put(PREFIX + key.substring(REPLICA_PREFIX.length()), entry.getValue());
+            }
+        }
+        return replica;
+    }
+
+    private static boolean isReplicaOption(String key) {
+        return key.equals(REPLICA_PREFIX + "enabled") || key.equals(REPLICA_PREFIX + "stickiness.ms");
+    }
+
+    private static Map<String, String> defaultSettings() {
+        Map<String, String> settings = new LinkedHashMap<>();
+        settings.put("database.host", "localhost");
+        settings.put("database.port", "3306");
+        settings.put("database.name", "school_management_system");
+        settings.put("database.username", "root");
+        // No database.password: it must be configured, see validate()
+
+        // Connection pool settings
+        settings.put(POOL_PREFIX + "dataSourceClassName", "com.mysql.cj.jdbc.MysqlDataSource");
+        settings.put(POOL_PREFIX + "maximumPoolSize", String.valueOf(MAXIMUM_POOL_SIZE));
+        settings.put(POOL_PREFIX + "minimumIdle", "2");
+        settings.put(POOL_PREFIX + "connectionTimeout", "30000");
+        settings.put(POOL_PREFIX + "idleTimeout", "600000");
+        settings.put(POOL_PREFIX + "maxLifetime", "1800000");
+        settings.put(POOL_PREFIX + "leakDetectionThreshold", "60000");
+
+        // MySQL driver settings
+        settings.put(DRIVER_PREFIX + "cachePrepStmts", "true");
+        settings.put(DRIVER_PREFIX + "prepStmtCacheSize", "250");
+        settings.put(DRIVER_PREFIX + "prepStmtCacheSqlLimit", "2048");
+        settings.put(DRIVER_PREFIX + "useServerPrepStmts", "true");
+        settings.put(DRIVER_PREFIX + "useLocalSessionState", "true");
+        settings.put(DRIVER_PREFIX + "rewriteBatchedStatements", "true");
+        settings.put(DRIVER_PREFIX + "cacheResultSetMetadata", "true");
+        settings.put(DRIVER_PREFIX + "cacheServerConfiguration", "true");
+        settings.put(DRIVER_PREFIX + "elideSetAutoCommits", "true");
+        settings.put(DRIVER_PREFIX + "maintainTimeStats", "false");
+        // Server-side cursors for statements that set a positive fetch size (student streaming)
+        settings.put(DRIVER_PREFIX + "useCursorFetch", "true");
+
+        // Optional read replica; its connection settings default to the primary's
+        settings.put(REPLICA_PREFIX + "enabled", "false");
+        settings.put(REPLICA_PREFIX + "stickiness.ms", "5000");
+        // Fail over to the primary quickly rather than stall reads behind a dead replica
+        settings.put(REPLICA_PREFIX + "pool.connectionTimeout", "2000");
+        // Start the pool even if the replica is down, so reads move to it once it is back
+        settings.put(REPLICA_PREFIX + "pool.initializationFailTimeout", "-1");
+        return settings;
+    }
+
+    /**
+     * Merge defaults, database.properties, application.properties, environment and system properties
+     * @return the effective settings in the database.* namespace
+     */
+    static Map<String, String> loadSettings() {
+        Map<String, String> settings = defaultSettings();
+
+        // database.properties uses HikariCP's own keys: dataSource.* for the driver, the rest for the pool
+        try (InputStream input = DatabaseConfig.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
+            if (input != null) {
+                Properties file = new Properties();
+                file.load(input);
+                for (String key : file.stringPropertyNames()) {
+                    String value = file.getProperty(key).trim();
+                    if (key.startsWith("dataSource.")) {
+                        settings.put(DRIVER_PREFIX + key.substring("dataSource.".length()), value);
+                    } else {
+                        settings.put(POOL_PREFIX + key, value);
+                    }
+                }
+                logger.info("Loaded {} settings from {}", file.size(), CONFIG_FILE);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read {}: {}", CONFIG_FILE, e.getMessage());
+        }
+
+        // application.properties, with -D overrides applied by AppConfig
+        for (String key : AppConfig.getPropertyNames(PREFIX)) {
+            if (isConnectionSetting(key)) {
+                settings.put(key, AppConfig.getProperty(key).trim());
+            }
+        }
+
+        // Every key may also be set for the replica alone, e.g. DATABASE_REPLICA_HOST. The password has
+        // no default, so DATABASE_PASSWORD is looked up even when no file mentions it
+        List<String> names = new ArrayList<>(settings.keySet());
+        if (!settings.containsKey("database.password")) {
+            names.add("database.password");
+        }
+        List<String> keys = new ArrayList<>(names);
+        for (String key : names) {
+            if (!key.startsWith(REPLICA_PREFIX)) {
+                keys.add(REPLICA_PREFIX + key.substring(PREFIX.length()));
+            }
+        }
+        // Environment variables win over files, so containers can inject credentials. Pool and driver
+        // names are case-sensitive and cannot be recovered from DATABASE_DRIVER_SSLMODE, so settings no
+        // file mentions come in as lists instead, e.g. DATABASE_DRIVER_PROPERTIES="sslMode=REQUIRED;serverTimezone=UTC"
+        for (String prefix : new String[] {POOL_PREFIX, DRIVER_PREFIX,
+                REPLICA_PREFIX + "pool.", REPLICA_PREFIX + "driver."}) {
+            String list = System.getenv(toEnvironmentName(prefix + "properties"));
+            if (list != null) {
+                parsePropertyList(list, prefix, settings);
+            }
+        }
+        for (String key : keys) {
+            String value = System.getenv(toEnvironmentName(key));
+            if (value != null) {
+                settings.put(key, value.trim());
+            }
+        }
+        // ...but an explicit -D beats the environment
+        for (String key : keys) {
+            String override = System.getProperty(key);
+            if (override != null) {
+                settings.put(key, override.trim());
+            }
+        }
+        return settings;
+    }
+
+    /**
+     * Read a name=value;name=value list from the environment into settings under a prefix
+     */
+    static void parsePropertyList(String list, String prefix, Map<String, String> settings) {
+        for (String entry : list.split(";")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int equals = entry.indexOf('=');
+            if (equals <= 0) {
+                logger.warn("Ignoring '{}' in {}: expected name=value", entry.trim(),
+                        toEnvironmentName(prefix + "properties"));
+                continue;
+            }
+            settings.put(prefix + entry.substring(0, equals).trim(), entry.substring(equals + 1).trim());
+        }
+    }
+
+    private static boolean isConnectionSetting(String key) {
+        if (key.startsWith(REPLICA_PREFIX)) {
+            return isReplicaOption(key) || isConnectionSetting(PREFIX + key.substring(REPLICA_PREFIX.length()));
+        }
+        return key.startsWith(POOL_PREFIX) || key.startsWith(DRIVER_PREFIX)
+                || key.equals("database.host") || key.equals("database.port") || key.equals("database.name")
+                || key.equals("database.username") || key.equals("database.password");
+    }
+
+    static String toEnvironmentName(String key) {
+        return key.toUpperCase(Locale.ROOT).replace('.', '_');
+    }
+
+    /**
+     * Check the settings before the pool is built, so a bad value fails with a clear message
+     * @param settings the merged settings
+     * @return the problems found, empty if the settings are valid
+     */
+    static List<String> validate(Map<String, String> settings) {
+        List<String> problems = new ArrayList<>();
+
+        if (settings.getOrDefault("database.host", "").isEmpty()) {
+            problems.add("database.host must not be empty");
+        }
+        if (settings.getOrDefault("database.name", "").isEmpty()) {
+            problems.add("database.name must not be empty");
+        }
+        if (settings.getOrDefault("database.username", "").isEmpty()) {
+            problems.add("database.username must not be empty");
+        }
+        if (!settings.containsKey("database.password")) {
+            problems.add("database.password is not set; set it or DATABASE_PASSWORD "
+                    + "(empty if the account has no password)");
+        }
+        long port = parseLong(settings, "database.port", problems);
+        if (port != -1 && (port < 1 || port > 65535)) {
+            problems.add("database.port must be between 1 and 65535 but was " + port);
+        }
+
+        long maxPoolSize = parseLong(settings, POOL_PREFIX + "maximumPoolSize", problems);
+        long minIdle = parseLong(settings, POOL_PREFIX + "minimumIdle", problems);
+        long connectionTimeout = parseLong(settings, POOL_PREFIX + "connectionTimeout", problems);
+        long idleTimeout = parseLong(settings, POOL_PREFIX + "idleTimeout", problems);
+        long maxLifetime = parseLong(settings, POOL_PREFIX + "maxLifetime", problems);
+        long leakDetection = parseLong(settings, POOL_PREFIX + "leakDetectionThreshold", problems);
+
+        if (maxPoolSize != -1 && maxPoolSize < 1) {
+            problems.add("database.pool.maximumPoolSize must be at least 1 but was " + maxPoolSize);
+        }
+        if (minIdle != -1 && maxPoolSize != -1 && minIdle > maxPoolSize) {
+            problems.add("database.pool.minimumIdle (" + minIdle + ") must not exceed maximumPoolSize (" + maxPoolSize + ")");
+        }
+        if (connectionTimeout != -1 && connectionTimeout != 0 && connectionTimeout < 250) {
+            problems.add("database.pool.connectionTimeout must be at least 250 ms but was " + connectionTimeout);
+        }
+        if (maxLifetime != -1 && maxLifetime != 0 && maxLifetime < 30000) {
+            problems.add("database.pool.maxLifetime must be 0 or at least 30000 ms but was " + maxLifetime);
+        }
+        if (idleTimeout > 0 && maxLifetime > 0 && idleTimeout >= maxLifetime) {
+            problems.add("database.pool.idleTimeout (" + idleTimeout + ") must be less than maxLifetime (" + maxLifetime + ")");
+        }
+        if (leakDetection > 0 && (leakDetection < 2000 || (maxLifetime > 0 && leakDetection >= maxLifetime))) {
+            problems.add("database.pool.leakDetectionThreshold must be 0, or at least 2000 ms and less than maxLifetime");
+        }
+
+        if (Boolean.parseBoolean(settings.get(REPLICA_PREFIX + "enabled"))) {
+            long stickiness = parseLong(settings, REPLICA_PREFIX + "stickiness.ms", problems);
+            if (stickiness != -1 && stickiness < 0) {
+                problems.add("database.replica.stickiness.ms must not be negative but was " + stickiness);
+            }
+            if (!settings.containsKey(REPLICA_PREFIX + "host") && !settings.containsKey(REPLICA_PREFIX + "port")
+                    && !settings.containsKey(REPLICA_PREFIX + "pool.jdbcUrl")) {
+                problems.add("database.replica.enabled is set but no database.replica.host, port or pool.jdbcUrl is given");
+            }
+            for (String problem : validate(replicaSettings(settings))) {
+                problems.add("replica: " + problem);
+            }
+        }
+
+        // Unknown pool keys and non-numeric values for other pool settings are rejected by HikariConfig itself
+        return problems;
+    }
+
+    private static long parseLong(Map<String, String> settings, String key, List<String> problems) {
+        String value = settings.get(key);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            problems.add(key + " must be a number but was '" + value + "'");
+            return -1;
+        }
+    }
+
+    /**
+     * Translate database.* settings into the keys HikariConfig understands
+     */
+    private static Properties toHikariProperties(Map<String, String> settings) {
+        Properties props = new Properties();
+        boolean jdbcUrl = settings.containsKey(POOL_PREFIX + "jdbcUrl");
+        if (jdbcUrl) {
+            // An explicit URL replaces host, port and name
+            props.setProperty("username", settings.get("database.username"));
+            props.setProperty("password", settings.getOrDefault("database.password", ""));
+        } else {
+            props.setProperty("dataSource.serverName", settings.get("database.host"));
+            props.setProperty("dataSource.port", settings.get("database.port"));
+            props.setProperty("dataSource.databaseName", settings.get("database.name"));
+            props.setProperty("dataSource.user", settings.get("database.username"));
+            props.setProperty("dataSource.password", settings.getOrDefault("database.password", ""));
+        }
+        for (Map.Entry<String, String> entry : settings.entrySet()) {
+            String key = entry.getKey();
+            if (jdbcUrl && key.equals(POOL_PREFIX + "dataSourceClassName")) {
+                continue;
+            }
+            if (key.startsWith(POOL_PREFIX)) {
+                props.setProperty(key.substring(POOL_PREFIX.length()), entry.getValue());
+            } else if (key.startsWith(DRIVER_PREFIX)) {
+                props.setProperty("dataSource." + key.substring(DRIVER_PREFIX.length()), entry.getValue());
+            }
+        }
+        return props;
+    }
+
+    /**
+     * Get a database connection from the pool, waiting for startup to finish if necessary
      * @return Connection object
-     * @throws SQLException if connection fails
+     * @throws SQLException if connection fails or the database is unavailable
      */
     public static Connection getConnection() throws SQLException {
-        if (dataSource == null) {
-            throw new SQLException("DataSource is not initialized");
+        HikariDataSource current = dataSource;
+        if (current == null) {
+            awaitStartup();
+            current = dataSource;
+            if (current == null) {
+                // SQLState class 08: a connection exception, like the driver's own
+                throw new SQLException("Database is not available (offline mode)", "08001");
+            }
+        }
+        return current.getConnection();
+    }
+
+    private static void awaitStartup() throws SQLException {
+        try {
+            currentStartup().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the database", e);
+        } catch (ExecutionException e) {
+            throw new SQLException("Database startup failed", e.getCause());
+        }
+    }
+
+    /**
+     * Get a connection for a read-only query. It comes from the replica when one is configured,
+     * unless this process wrote within the stickiness window or the replica recently failed.
+     * @return Connection object
+     * @throws SQLException if no connection can be obtained
+     */
+    public static Connection getReadConnection() throws SQLException {
+        HikariDataSource replica = replicaDataSource;
+        long now = System.nanoTime();
+        if (replica == null || now - lastWriteNanos.get() < stickinessNanos || now - replicaRetryAtNanos < 0) {
+            return getConnection();
         }
-        return dataSource.getConnection();
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            // Stop trying for a while so every read does not wait out the connection timeout
+            replicaRetryAtNanos = System.nanoTime() + REPLICA_RETRY_NANOS;
+            logger.warn("Replica unavailable, reading from the primary for the next {} s: {}",
+                    TimeUnit.NANOSECONDS.toSeconds(REPLICA_RETRY_NANOS), e.getMessage());
+            MetricsRegistry.getInstance().counter("replica.fallbacks").increment();
+            return getConnection();
+        }
+    }
+
+    /**
+     * Note that data was just written to the primary, so reads stay there for the stickiness window
+     */
+    public static void recordWrite() {
+        lastWriteNanos.set(System.nanoTime());
+    }
+
+    /**
+     * @return true if a replica pool is open
+     */
+    public static boolean isReplicaConfigured() {
+        return replicaDataSource != null;
+    }
+
+    /**
+     * Replace the connection pool, e.g. with an embedded database for benchmarks.
+     * The previous pool, if any, is closed.
+     * @param replacement the pool to use from now on
+     */
+    public static synchronized void useDataSource(HikariDataSource replacement) {
+        HikariDataSource previous = dataSource;
+        dataSource = replacement;
+        if (startup == null || startup.isDone()) {
+            startup = CompletableFuture.completedFuture(true);
+        }
+        if (previous != null && previous != replacement && !previous.isClosed()) {
+            previous.close();
+        }
+        logger.info("Database connection pool replaced: {}", replacement.getPoolName());
+    }
+
+    /**
+     * Ask the primary whether it answers, on a connection of its own rather than one from the pool,
+     * so an exhausted pool is not mistaken for an unreachable server
+     * @param timeoutSeconds how long to wait for the server
+     * @return true if the server accepted a connection and answered isValid
+     */
+    public static boolean isReachable(int timeoutSeconds) {
+        HikariDataSource current = dataSource;
+        if (current == null || current.isClosed()) {
+            return false;
+        }
+        try (Connection conn = openDirect(current, timeoutSeconds)) {
+            return conn.isValid(timeoutSeconds);
+        } catch (SQLException | RuntimeException e) {
+            logger.debug("Database probe failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // Connect the way the pool does, from its jdbcUrl or its driver DataSource class and dataSource.* properties
+    private static Connection openDirect(HikariDataSource pool, int timeoutSeconds) throws SQLException {
+        Properties props = new Properties();
+        props.putAll(pool.getDataSourceProperties());
+        if (pool.getJdbcUrl() != null) {
+            if (pool.getUsername() != null) {
+                props.setProperty("user", pool.getUsername());
+            }
+            if (pool.getPassword() != null) {
+                props.setProperty("password", pool.getPassword());
+            }
+            // Not DriverManager.setLoginTimeout: that is JVM-wide and would change the pool's own timeout
+            return DriverManager.getConnection(pool.getJdbcUrl(), props);
+        }
+        DataSource direct = UtilityElf.createInstance(pool.getDataSourceClassName(), DataSource.class);
+        PropertyElf.setTargetFromProperties(direct, props);
+        direct.setLoginTimeout(timeoutSeconds);
+        return direct.getConnection();
     }
 
     /**
@@ -95,20 +611,42 @@ public class DatabaseConfig {
     /**
      * Close the data source and all connections
      */
-    public static void closeDataSource() {
+    public static synchronized void closeDataSource() {
+        closed = true;
+        if (replicaDataSource != null && !replicaDataSource.isClosed()) {
+            replicaDataSource.close();
+            logger.info("Replica connection pool closed");
+        }
         if (dataSource != null && !dataSource.isClosed()) {
             dataSource.close();
             logger.info("Database connection pool closed");
         }
     }
 
+    /**
+     * Get the maximum number of pooled connections
+     * @return the configured pool size
+     */
+    public static int getMaximumPoolSize() {
+        if (dataSource != null) {
+            return dataSource.getMaximumPoolSize();
+        }
+        // Not started yet: report what the pool will be configured with
+        try {
+            return Integer.parseInt(settings().getOrDefault(POOL_PREFIX + "maximumPoolSize", String.valueOf(MAXIMUM_POOL_SIZE)));
+        } catch (NumberFormatException e) {
+            return MAXIMUM_POOL_SIZE;
+        }
+    }
+
     /**
      * Get connection pool status
      * @return String representation of pool status
+     * @see com.schoolmanagement.util.MetricsRegistry for the same numbers as graphable metrics
      */
     public static String getPoolStatus() {
         if (dataSource == null) {
-            return "DataSource not initialized";
+            return startup != null && !startup.isDone() ? "DataSource starting" : "DataSource not initialized";
         }
         return String.format("Active: %d, Idle: %d, Total: %d, Waiting: %d",
                 dataSource.getHikariPoolMXBean().getActiveConnections(),
@@ -0,0 +1,62 @@
+package com.schoolmanagement.config;
+
+import com.schoolmanagement.util.LatencyHistogram;
+import com.schoolmanagement.util.MetricsRegistry;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Feeds HikariCP's pool events into MetricsRegistry: connection acquire, usage and creation times,
+ * acquire timeouts, and active/idle/total/pending gauges under a per-pool prefix such as "pool.".
+ */
+public class PoolMetricsTrackerFactory implements MetricsTrackerFactory {
+    private final String prefix;
+
+    /**
+     * @param prefix metric name prefix, e.g. "pool" for the primary and "replica.pool" for the replica
+     */
+    public PoolMetricsTrackerFactory(String prefix) {
+        this.prefix = prefix;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        registry.gauge(prefix + ".active", poolStats::getActiveConnections);
+        registry.gauge(prefix + ".idle", poolStats::getIdleConnections);
+        registry.gauge(prefix + ".total", poolStats::getTotalConnections);
+        registry.gauge(prefix + ".pending", poolStats::getPendingThreads);
+        registry.gauge(prefix + ".max", poolStats::getMaxConnections);
+
+        LatencyHistogram acquire = registry.timer(prefix + ".acquire");
+        LatencyHistogram usage = registry.timer(prefix + ".usage");
+        LatencyHistogram creation = registry.timer(prefix + ".connect");
+        LongAdder timeouts = registry.counter(prefix + ".timeouts");
+
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquire.recordNanos(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usage.recordNanos(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+            }
+
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                creation.recordNanos(TimeUnit.MILLISECONDS.toNanos(connectionCreatedMillis));
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.schoolmanagement.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * Recommends database.pool.maximumPoolSize for a deployment.
+ * <p>
+ * A connection is busy for the whole query latency, but the database only works on it for part
+ * of that time; the rest is network round trip. Following the usual threads = cores * (1 + wait / service)
+ * rule, the pool needs dbCores * (1 + roundTrip / (latency - roundTrip)) connections to keep the
+ * database cores busy. The round trip is measured with a trivial query and the latency with a
+ * representative one. The result is capped at HikariCP's dbCores * 2 + 1 guideline once the query is
+ * mostly database work.
+ * <p>
+ * Usage: PoolSizing [dbCores] [representative query]
+ */
+public final class PoolSizing {
+    private static final Logger logger = LoggerFactory.getLogger(PoolSizing.class);
+
+    private static final String ROUND_TRIP_QUERY = "SELECT 1";
+    private static final String DEFAULT_QUERY =
+        "SELECT s.student_id, s.student_number, u.first_name, u.last_name FROM students s " +
+        "JOIN users u ON s.user_id = u.user_id WHERE s.is_active = true ORDER BY s.student_id DESC LIMIT 100";
+    private static final int WARMUP_SAMPLES = 20;
+    private static final int SAMPLES = 200;
+
+    private PoolSizing() {
+    }
+
+    /**
+     * Recommend a pool size from measured timings
+     * @param dbCores CPU cores of the database server
+     * @param roundTripMillis median latency of a trivial query
+     * @param queryMillis median latency of a representative query
+     * @return the recommended maximum pool size, at least 2
+     */
+    public static int recommend(int dbCores, double roundTripMillis, double queryMillis) {
+        if (dbCores < 1 || roundTripMillis < 0 || queryMillis <= 0) {
+            throw new IllegalArgumentException("Cores must be positive and latencies non-negative");
+        }
+        double serviceMillis = Math.max(queryMillis - roundTripMillis, queryMillis * 0.05);
+        int bySaturation = (int) Math.ceil(dbCores * (1 + roundTripMillis / serviceMillis));
+        // Mostly-CPU queries gain nothing from more connections than the database can run at once
+        int guideline = dbCores * 2 + 1;
+        int recommended = serviceMillis >= roundTripMillis ? Math.min(bySaturation, guideline) : bySaturation;
+        return Math.max(2, recommended);
+    }
+
+    /**
+     * Measure the median latency of a query on a pooled connection
+     * @param sql the query to time
+     * @return the median latency in milliseconds
+     * @throws SQLException if the query fails
+     */
+    public static double measureMedianMillis(String sql) throws SQLException {
+        long[] samples = new long[SAMPLES];
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < WARMUP_SAMPLES + SAMPLES; i++) {
+                long start = System.nanoTime();
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        // Drain the rows so transfer time is included
+                    }
+                }
+                if (i >= WARMUP_SAMPLES) {
+                    samples[i - WARMUP_SAMPLES] = System.nanoTime() - start;
+                }
+            }
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2] / 1_000_000.0;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        int dbCores = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        String query = args.length > 1 ? args[1] : DEFAULT_QUERY;
+
+        double roundTrip = measureMedianMillis(ROUND_TRIP_QUERY);
+        double latency = measureMedianMillis(query);
+        int size = recommend(dbCores, roundTrip, latency);
+
+        logger.info("Round trip {} ms, query latency {} ms, database cores {}",
+                String.format("%.3f", roundTrip), String.format("%.3f", latency), dbCores);
+        logger.info("Current pool size {}, recommended: database.pool.maximumPoolSize={}",
+                DatabaseConfig.getMaximumPoolSize(), size);
+        DatabaseConfig.closeDataSource();
+    }
+}
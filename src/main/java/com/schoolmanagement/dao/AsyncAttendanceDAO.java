@@ -0,0 +1,44 @@
+package com.schoolmanagement.dao;
+
+import com.schoolmanagement.model.AttendanceRecord;
+import com.schoolmanagement.model.SchoolClass;
+import com.schoolmanagement.model.StudentSummary;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous facade over AttendanceDAO. Every call runs on the shared DaoExecutor;
+ * UI code should consume the futures on the EDT (see ui.EdtExecutor).
+ */
+public class AsyncAttendanceDAO {
+    private final AttendanceDAO attendanceDAO;
+    private final DaoExecutor executor;
+
+    public AsyncAttendanceDAO() {
+        this(new AttendanceDAO());
+    }
+
+    public AsyncAttendanceDAO(AttendanceDAO attendanceDAO) {
+        this.attendanceDAO = attendanceDAO;
+        this.executor = DaoExecutor.getInstance();
+    }
+
+    public CompletableFuture<List<SchoolClass>> getClasses(Integer teacherId) {
+        return executor.submit("AttendanceDAO.getClasses", () -> attendanceDAO.getClasses(teacherId));
+    }
+
+    public CompletableFuture<List<StudentSummary>> getClassStudents(int classId) {
+        return executor.submit("AttendanceDAO.getClassStudents", () -> attendanceDAO.getClassStudents(classId));
+    }
+
+    public CompletableFuture<Map<Integer, AttendanceRecord>> getClassAttendance(int classId, LocalDate date) {
+        return executor.submit("AttendanceDAO.getClassAttendance", () -> attendanceDAO.getClassAttendance(classId, date));
+    }
+
+    public CompletableFuture<Boolean> recordAttendance(List<AttendanceRecord> records) {
+        return executor.submit("AttendanceDAO.recordAttendance", () -> attendanceDAO.recordAttendance(records));
+    }
+}
@@ -0,0 +1,70 @@
+package com.schoolmanagement.dao;
+
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.StudentEnrollment;
+import com.schoolmanagement.model.StudentSummary;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous facade over StudentDAO. Every call runs on the shared DaoExecutor;
+ * UI code should consume the futures on the EDT (see ui.EdtExecutor).
+ */
+public class AsyncStudentDAO {
+    private final StudentDAO studentDAO;
+    private final DaoExecutor executor;
+
+    public AsyncStudentDAO() {
+        this(new StudentDAO());
+    }
+
+    public AsyncStudentDAO(StudentDAO studentDAO) {
+        this.studentDAO = studentDAO;
+        this.executor = DaoExecutor.getInstance();
+    }
+
+    public CompletableFuture<Boolean> createStudent(Student student, String username, String password, String email) {
+        return executor.submit("StudentDAO.createStudent", () -> studentDAO.createStudent(student, username, password, email));
+    }
+
+    public CompletableFuture<BatchResult> createStudents(List<StudentEnrollment> enrollments) {
+        // Bulk enrollment legitimately runs for minutes, so no timeout here
+        return executor.submit("StudentDAO.createStudents", () -> studentDAO.createStudents(enrollments), 0, TimeUnit.SECONDS);
+    }
+
+    public CompletableFuture<List<Student>> getStudentsPage(Integer afterStudentId, int limit, boolean descending) {
+        return executor.submit("StudentDAO.getStudentsPage", () -> studentDAO.getStudentsPage(afterStudentId, limit, descending));
+    }
+
+    public CompletableFuture<List<StudentSummary>> getStudentSummariesPage(Integer afterStudentId, int limit, boolean descending) {
+        return executor.submit("StudentDAO.getStudentSummariesPage", () -> studentDAO.getStudentSummariesPage(afterStudentId, limit, descending));
+    }
+
+    public CompletableFuture<Optional<Student>> getStudentById(int studentId) {
+        return executor.submit("StudentDAO.getStudentById", () -> studentDAO.getStudentById(studentId));
+    }
+
+    public CompletableFuture<Optional<Student>> getStudentByStudentNumber(String studentNumber) {
+        return executor.submit("StudentDAO.getStudentByStudentNumber", () -> studentDAO.getStudentByStudentNumber(studentNumber));
+    }
+
+    public CompletableFuture<Boolean> updateStudent(Student student) {
+        return executor.submit("StudentDAO.updateStudent", () -> studentDAO.updateStudent(student));
+    }
+
+    public CompletableFuture<Boolean> deleteStudent(int studentId) {
+        return executor.submit("StudentDAO.deleteStudent", () -> studentDAO.deleteStudent(studentId));
+    }
+
+    public CompletableFuture<Integer> getTotalStudents() {
+        return executor.submit("StudentDAO.getTotalStudents", studentDAO::getTotalStudents);
+    }
+
+    public CompletableFuture<Integer> getStudentsEnrolledAfter(LocalDate date) {
+        return executor.submit("StudentDAO.getStudentsEnrolledAfter", () -> studentDAO.getStudentsEnrolledAfter(date));
+    }
+}
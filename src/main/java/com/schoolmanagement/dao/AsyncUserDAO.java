@@ -0,0 +1,61 @@
+package com.schoolmanagement.dao;
+
+import com.schoolmanagement.model.User;
+import com.schoolmanagement.model.UserProfile;
+import com.schoolmanagement.model.UserRegistration;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous facade over UserDAO. Every call runs on the shared DaoExecutor;
+ * UI code should consume the futures on the EDT (see ui.EdtExecutor).
+ */
+public class AsyncUserDAO {
+    private final UserDAO userDAO;
+    private final DaoExecutor executor;
+
+    public AsyncUserDAO() {
+        this(new UserDAO());
+    }
+
+    public AsyncUserDAO(UserDAO userDAO) {
+        this.userDAO = userDAO;
+        this.executor = DaoExecutor.getInstance();
+    }
+
+    public CompletableFuture<Optional<User>> authenticateUser(String username, String password) {
+        return executor.submit("UserDAO.authenticateUser", () -> userDAO.authenticateUser(username, password));
+    }
+
+    public CompletableFuture<Optional<UserProfile>> authenticateProfile(String username, String password) {
+        return executor.submit("UserDAO.authenticateProfile", () -> userDAO.authenticateProfile(username, password));
+    }
+
+    public CompletableFuture<Optional<User>> getUserByUsername(String username) {
+        return executor.submit("UserDAO.getUserByUsername", () -> userDAO.getUserByUsername(username));
+    }
+
+    public CompletableFuture<Boolean> createUser(User user, String password) {
+        return executor.submit("UserDAO.createUser", () -> userDAO.createUser(user, password));
+    }
+
+    public CompletableFuture<BatchResult> createUsers(Collection<UserRegistration> registrations) {
+        // Bulk provisioning legitimately runs for minutes, so no timeout here
+        return executor.submit("UserDAO.createUsers", () -> userDAO.createUsers(registrations), 0, TimeUnit.SECONDS);
+    }
+
+    public CompletableFuture<Boolean> updatePassword(int userId, String newPassword) {
+        return executor.submit("UserDAO.updatePassword", () -> userDAO.updatePassword(userId, newPassword));
+    }
+
+    public CompletableFuture<Boolean> usernameExists(String username) {
+        return executor.submit("UserDAO.usernameExists", () -> userDAO.usernameExists(username));
+    }
+
+    public CompletableFuture<Boolean> emailExists(String email) {
+        return executor.submit("UserDAO.emailExists", () -> userDAO.emailExists(email));
+    }
+}
@@ -0,0 +1,309 @@
+package com.schoolmanagement.dao;
+
+import com.schoolmanagement.config.DatabaseConfig;
+import com.schoolmanagement.model.AttendanceRecord;
+import com.schoolmanagement.model.SchoolClass;
+import com.schoolmanagement.model.StudentSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Data Access Object for attendance marks. While the database is unreachable, marks are
+ * journaled by OfflineStore and replayed when the connection returns.
+ */
+public class AttendanceDAO {
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceDAO.class);
+
+    // One mark per student per day (unique_student_date); marking again corrects the earlier mark
+    private static final String UPSERT_ATTENDANCE =
+        "INSERT INTO attendance (student_id, class_id, attendance_date, status, remarks) VALUES (?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE class_id = VALUES(class_id), status = VALUES(status), remarks = VALUES(remarks)";
+
+    // Row constructor list filled in per batch; FOR UPDATE also locks the gaps, so no mark can appear mid-replay
+    private static final String SELECT_EXISTING_PREFIX =
+        "SELECT student_id, attendance_date, class_id, status, remarks FROM attendance WHERE (student_id, attendance_date) IN (";
+
+    private static final String SELECT_CLASSES =
+        "SELECT class_id, class_name, grade_level, academic_year FROM classes WHERE is_active = true ";
+
+    private static final String SELECT_CLASS_STUDENTS =
+        "SELECT s.student_id, s.student_number, u.first_name, u.last_name, u.email, " +
+        "s.phone_number, s.gender, s.date_of_birth, s.is_active " +
+        "FROM student_classes sc JOIN students s ON s.student_id = sc.student_id " +
+        "JOIN users u ON s.user_id = u.user_id " +
+        "WHERE sc.class_id = ? AND sc.status = 'ACTIVE' AND s.is_active = true " +
+        "ORDER BY u.last_name, u.first_name, s.student_id";
+
+    // A student has one mark per day whichever class took it, so marks are matched by student
+    private static final String SELECT_CLASS_ATTENDANCE =
+        "SELECT a.student_id, a.class_id, a.attendance_date, a.status, a.remarks FROM attendance a " +
+        "JOIN student_classes sc ON sc.student_id = a.student_id AND sc.class_id = ? AND sc.status = 'ACTIVE' " +
+        "WHERE a.attendance_date = ?";
+
+    /**
+     * Get the active classes, or those of one teacher
+     * @param teacherId the teacher, or null for all classes
+     * @return the classes by grade level and name
+     */
+    public List<SchoolClass> getClasses(Integer teacherId) {
+        OfflineStore offline = OfflineStore.getInstance();
+        if (offline.isOffline()) {
+            return offline.getClasses(teacherId);
+        }
+
+        String sql = SELECT_CLASSES + (teacherId != null ? "AND teacher_id = ? " : "") + "ORDER BY grade_level, class_name";
+        List<SchoolClass> classes = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            if (teacherId != null) {
+                stmt.setInt(1, teacherId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    classes.add(new SchoolClass(rs.getInt("class_id"), rs.getString("class_name"),
+                            rs.getInt("grade_level"), rs.getString("academic_year")));
+                }
+            }
+            offline.cacheClasses(teacherId, classes);
+        } catch (SQLException e) {
+            if (offline.fallBack(e)) {
+                return offline.getClasses(teacherId);
+            }
+            logger.error("Error getting classes for teacher {}: {}", teacherId, e.getMessage(), e);
+        }
+        return classes;
+    }
+
+    /**
+     * Get the students actively enrolled in a class
+     * @param classId the class
+     * @return the students by name
+     */
+    public List<StudentSummary> getClassStudents(int classId) {
+        OfflineStore offline = OfflineStore.getInstance();
+        if (offline.isOffline()) {
+            return offline.getRoster(classId);
+        }
+
+        List<StudentSummary> students = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_CLASS_STUDENTS)) {
+            stmt.setInt(1, classId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<StudentSummary> mapper = RowMappers.STUDENT_SUMMARY.forQuery(SELECT_CLASS_STUDENTS, rs);
+                while (rs.next()) {
+                    students.add(mapper.mapRow(rs));
+                }
+            }
+            offline.cacheRoster(classId, students);
+        } catch (SQLException e) {
+            if (offline.fallBack(e)) {
+                return offline.getRoster(classId);
+            }
+            logger.error("Error getting students of class {}: {}", classId, e.getMessage(), e);
+        }
+        return students;
+    }
+
+    /**
+     * Get the marks of a class's students for one day. Read from the primary, because each mark
+     * becomes the base that an offline correction of it is checked against.
+     * @param classId the class
+     * @param date the day
+     * @return the marks, keyed by student id; students without a mark are absent from the map
+     */
+    public Map<Integer, AttendanceRecord> getClassAttendance(int classId, LocalDate date) {
+        OfflineStore offline = OfflineStore.getInstance();
+        if (offline.isOffline()) {
+            return offline.getAttendance(offline.getRoster(classId), date);
+        }
+
+        Map<Integer, AttendanceRecord> marks = new HashMap<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_CLASS_ATTENDANCE)) {
+            stmt.setInt(1, classId);
+            stmt.setDate(2, Date.valueOf(date));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    AttendanceRecord mark = mapAttendance(rs);
+                    marks.put(mark.getStudentId(), mark);
+                }
+            }
+            offline.cacheAttendance(marks.values());
+        } catch (SQLException e) {
+            if (offline.fallBack(e)) {
+                return offline.getAttendance(offline.getRoster(classId), date);
+            }
+            logger.error("Error getting attendance of class {} on {}: {}", classId, date, e.getMessage(), e);
+        }
+        return marks;
+    }
+
+    /**
+     * Save attendance marks in one transaction, replacing any earlier mark for the same student and day.
+     * When the database is unreachable the marks are journaled locally instead.
+     * @param records the marks to save
+     * @return true if the marks were saved or journaled
+     */
+    public boolean recordAttendance(List<AttendanceRecord> records) {
+        for (AttendanceRecord record : records) {
+            if (record.getAttendanceDate() == null || record.getStatus() == null) {
+                throw new IllegalArgumentException("Attendance date and status are required: " + record);
+            }
+        }
+        if (records.isEmpty()) {
+            return true;
+        }
+
+        OfflineStore offline = OfflineStore.getInstance();
+        if (offline.isOffline()) {
+            return offline.journalAttendance(records);
+        }
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(UPSERT_ATTENDANCE)) {
+                for (AttendanceRecord record : records) {
+                    bindAttendance(stmt, record);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+                DatabaseConfig.recordWrite();
+                offline.cacheAttendance(records);
+                logger.info("Recorded {} attendance marks", records.size());
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            if (offline.fallBack(e)) {
+                return offline.journalAttendance(records);
+            }
+            logger.error("Error recording attendance: {}", e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Replay journaled marks in one transaction. A mark is applied if the server still holds the mark
+     * it was made over (its base; none if null). If the server holds another mark, someone else changed
+     * it in the meantime: that is a conflict and the server's mark is kept.
+     * @param bases the mark each journaled mark replaced, as this client last saw it, or null
+     * @param changes the journaled marks, oldest first
+     * @return the outcome for each mark, in the same order
+     * @throws SQLException if the batch could not be applied; nothing is written in that case
+     */
+    OfflineStore.ReplayOutcome[] replayAttendance(List<AttendanceRecord> bases, List<AttendanceRecord> changes)
+            throws SQLException {
+        OfflineStore.ReplayOutcome[] outcomes = new OfflineStore.ReplayOutcome[changes.size()];
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                // The server's marks, updated as this batch writes, so a later correction sees its own base
+                Map<String, AttendanceRecord> current = findExisting(conn, changes);
+                int applied = 0;
+                try (PreparedStatement stmt = conn.prepareStatement(UPSERT_ATTENDANCE)) {
+                    for (int i = 0; i < changes.size(); i++) {
+                        AttendanceRecord change = changes.get(i);
+                        AttendanceRecord server = current.get(key(change));
+                        if (sameMark(server, change)) {
+                            outcomes[i] = OfflineStore.ReplayOutcome.ALREADY_APPLIED;
+                        } else if (sameMark(server, bases.get(i))) {
+                            bindAttendance(stmt, change);
+                            stmt.addBatch();
+                            current.put(key(change), change);
+                            applied++;
+                            outcomes[i] = OfflineStore.ReplayOutcome.APPLIED;
+                        } else {
+                            outcomes[i] = OfflineStore.ReplayOutcome.CONFLICT;
+                        }
+                    }
+                    if (applied > 0) {
+                        stmt.executeBatch();
+                    }
+                }
+                conn.commit();
+                if (applied > 0) {
+                    DatabaseConfig.recordWrite();
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        return outcomes;
+    }
+
+    private static boolean sameMark(AttendanceRecord a, AttendanceRecord b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.getStatus() == b.getStatus() && a.getClassId() == b.getClassId()
+                && Objects.equals(a.getRemarks(), b.getRemarks());
+    }
+
+    private Map<String, AttendanceRecord> findExisting(Connection conn, List<AttendanceRecord> records) throws SQLException {
+        StringBuilder sql = new StringBuilder(SELECT_EXISTING_PREFIX);
+        for (int i = 0; i < records.size(); i++) {
+            sql.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+        }
+        sql.append(") FOR UPDATE");
+
+        Map<String, AttendanceRecord> existing = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (AttendanceRecord record : records) {
+                stmt.setInt(index++, record.getStudentId());
+                stmt.setDate(index++, Date.valueOf(record.getAttendanceDate()));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    AttendanceRecord record = mapAttendance(rs);
+                    existing.put(key(record), record);
+                }
+            }
+        }
+        return existing;
+    }
+
+    private static AttendanceRecord mapAttendance(ResultSet rs) throws SQLException {
+        return new AttendanceRecord(rs.getInt("student_id"), rs.getInt("class_id"),
+                rs.getDate("attendance_date").toLocalDate(),
+                AttendanceRecord.Status.valueOf(rs.getString("status")), rs.getString("remarks"));
+    }
+
+    static String key(AttendanceRecord record) {
+        return key(record.getStudentId(), record.getAttendanceDate());
+    }
+
+    static String key(int studentId, LocalDate date) {
+        return studentId + "@" + date;
+    }
+
+    private void bindAttendance(PreparedStatement stmt, AttendanceRecord record) throws SQLException {
+        stmt.setInt(1, record.getStudentId());
+        stmt.setInt(2, record.getClassId());
+        stmt.setDate(3, Date.valueOf(record.getAttendanceDate()));
+        stmt.setString(4, record.getStatus().name());
+        stmt.setString(5, record.getRemarks());
+    }
+}
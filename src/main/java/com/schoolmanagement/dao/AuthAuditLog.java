@@ -0,0 +1,194 @@
+package com.schoolmanagement.dao;
+
+import com.schoolmanagement.config.AppConfig;
+import com.schoolmanagement.config.DatabaseConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Structured audit trail of authentication attempts. Callers only enqueue an event into a
+ * fixed-size ring buffer (an ArrayBlockingQueue), which never blocks and never touches the
+ * database. A background writer drains the buffer and inserts events in JDBC batches.
+ * If the writer falls behind and the buffer is full, new events are dropped and counted
+ * rather than slowing down the login path.
+ */
+public final class AuthAuditLog {
+    private static final Logger logger = LoggerFactory.getLogger(AuthAuditLog.class);
+    private static final AuthAuditLog INSTANCE = new AuthAuditLog(
+        AppConfig.getIntProperty("audit.queue.capacity", 8192),
+        AppConfig.getIntProperty("audit.batch.size", 200),
+        AppConfig.getIntProperty("audit.flush.ms", 1000));
+
+    private static final String INSERT_EVENT =
+        "INSERT INTO auth_audit (occurred_at, username, user_id, client_id, outcome) VALUES (?, ?, ?, ?, ?)";
+
+    // Report drops at most this often so a flood does not flood the log as well
+    private static final long DROP_WARNING_INTERVAL_MS = 60_000;
+
+    /**
+     * Result of an authentication attempt
+     */
+    public enum Outcome {
+        SUCCESS, INVALID_PASSWORD, UNKNOWN_USER, THROTTLED, BUSY, ERROR
+    }
+
+    private static final class Event {
+        private final long occurredAtMillis;
+        private final String username;
+        private final Integer userId;
+        private final String clientId;
+        private final Outcome outcome;
+
+        private Event(String username, Integer userId, String clientId, Outcome outcome) {
+            this.occurredAtMillis = System.currentTimeMillis();
+            this.username = username;
+            this.userId = userId;
+            this.clientId = clientId;
+            this.outcome = outcome;
+        }
+    }
+
+    private final ArrayBlockingQueue<Event> buffer;
+    private final int batchSize;
+    private final long flushMillis;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicLong lastDropWarning = new AtomicLong();
+
+    private AuthAuditLog(int capacity, int batchSize, long flushMillis) {
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushMillis = flushMillis;
+        this.writer = new Thread(this::writeLoop, "auth-audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public static AuthAuditLog getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Record an authentication attempt without blocking
+     * @param username the username that was tried
+     * @param userId the matching user id, or null if the user is unknown
+     * @param clientId the client that made the attempt
+     * @param outcome what happened
+     */
+    public void record(String username, Integer userId, String clientId, Outcome outcome) {
+        recorded.increment();
+        if (!buffer.offer(new Event(truncate(username, 50), userId, truncate(clientId, 100), outcome))) {
+            dropped.increment();
+            long now = System.currentTimeMillis();
+            long last = lastDropWarning.get();
+            if (now - last >= DROP_WARNING_INTERVAL_MS && lastDropWarning.compareAndSet(last, now)) {
+                logger.warn("Audit buffer full, dropping events ({} dropped so far)", dropped.sum());
+            }
+        }
+    }
+
+    /**
+     * Stop the writer after flushing what is buffered, e.g. at shutdown
+     * @param timeoutMillis how long to wait for the final flush
+     */
+    public void close(long timeoutMillis) {
+        running = false;
+        try {
+            writer.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Audit log closed: {}", getStats());
+    }
+
+    /**
+     * @return counts of recorded, written, dropped and failed events
+     */
+    public String getStats() {
+        return String.format("recorded=%d, written=%d, dropped=%d, failed=%d, buffered=%d",
+                recorded.sum(), written.sum(), dropped.sum(), failed.sum(), buffer.size());
+    }
+
+    private void writeLoop() {
+        List<Event> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                // Wait for the first event, then give the batch up to flushMillis to fill
+                Event first = buffer.poll(flushMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushMillis);
+                while (running && batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Event next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                buffer.drainTo(batch, batchSize - batch.size());
+            } catch (InterruptedException e) {
+                // Our own thread: treat as close() and keep draining what is buffered
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<Event> batch) {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_EVENT)) {
+            for (Event event : batch) {
+                stmt.setTimestamp(1, new Timestamp(event.occurredAtMillis));
+                stmt.setString(2, event.username);
+                if (event.userId != null) {
+                    stmt.setInt(3, event.userId);
+                } else {
+                    stmt.setNull(3, Types.INTEGER);
+                }
+                stmt.setString(4, event.clientId);
+                stmt.setString(5, event.outcome.name());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            written.add(batch.size());
+        } catch (SQLException e) {
+            // Audit events are not retried: a database outage must not pile up memory
+            failed.add(batch.size());
+            logger.error("Error writing {} audit events: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null) {
+            return "";
+        }
+        return value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
@@ -0,0 +1,194 @@
+package com.schoolmanagement.dao;
+
+import com.schoolmanagement.config.DatabaseConfig;
+import com.schoolmanagement.util.PasswordHashingPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * The loop shared by the bulk create methods. Rows are validated up front, their passwords are
+ * hashed on the PasswordHashingPool, and they are inserted chunkSize rows per transaction.
+ * If a chunk fails it is rolled back and retried row by row, so one bad row does not abort the rest.
+ * Subclasses supply the validation, the SQL and the bookkeeping after a commit.
+ * @param <T> the input row type
+ */
+abstract class BatchInserter<T> {
+    private static final Logger logger = LoggerFactory.getLogger(BatchInserter.class);
+
+    private final String operation;
+
+    /**
+     * @param operation names the operation in log lines, e.g. "enrollment"
+     */
+    BatchInserter(String operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * @return an error message, or null if the row can be inserted
+     */
+    protected abstract String validate(T row);
+
+    protected abstract String getPassword(T row);
+
+    /**
+     * Insert one chunk as JDBC batches on the caller's transaction
+     * @return the generated id of each row, in chunk order
+     */
+    protected abstract int[] insertChunk(Connection conn, List<T> rows, String[] hashes) throws SQLException;
+
+    /**
+     * Insert a single row on the caller's transaction, used when a chunk fails
+     * @return the generated id
+     */
+    protected abstract int insertRow(Connection conn, T row, String hash) throws SQLException;
+
+    /**
+     * Called before each chunk's transaction, including its row-by-row retry
+     */
+    protected void beginTransaction() {
+    }
+
+    /**
+     * Called for every row once its transaction has committed
+     */
+    protected abstract void afterCommit(T row);
+
+    /**
+     * Called after each chunk's transaction has committed or rolled back
+     */
+    protected void endTransaction() {
+    }
+
+    /**
+     * @return how to name the row in a failure log line
+     */
+    protected abstract String describe(T row);
+
+    /**
+     * Insert the rows
+     * @param rows the rows, in input order
+     * @param chunkSize number of rows per transaction
+     * @return per-row results in input order
+     */
+    BatchResult run(List<T> rows, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+
+        BatchResult.RowResult[] results = new BatchResult.RowResult[rows.size()];
+        List<Integer> validRows = new ArrayList<>();
+        List<String> passwords = new ArrayList<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            String error = validate(rows.get(i));
+            if (error != null) {
+                results[i] = BatchResult.RowResult.failure(i, error);
+            } else {
+                validRows.add(i);
+                passwords.add(getPassword(rows.get(i)));
+            }
+        }
+
+        long hashStart = System.nanoTime();
+        List<CompletableFuture<String>> hashed = PasswordHashingPool.getInstance().hashAll(passwords);
+        logger.debug("Hashed {} passwords in {} ms", hashed.size(), (System.nanoTime() - hashStart) / 1_000_000);
+
+        // A password that could not be hashed fails its own row, not the whole run
+        List<Integer> hashedRows = new ArrayList<>(validRows.size());
+        List<String> hashList = new ArrayList<>(validRows.size());
+        for (int k = 0; k < validRows.size(); k++) {
+            int row = validRows.get(k);
+            try {
+                hashList.add(hashed.get(k).join());
+                hashedRows.add(row);
+            } catch (CompletionException | CancellationException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                logger.warn("Bulk {} of {} failed: could not hash password: {}",
+                        operation, describe(rows.get(row)), cause.getMessage());
+                results[row] = BatchResult.RowResult.failure(row, "Could not hash password: " + cause.getMessage());
+            }
+        }
+        validRows = hashedRows;
+        String[] hashes = hashList.toArray(new String[0]);
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                for (int start = 0; start < validRows.size(); start += chunkSize) {
+                    int end = Math.min(start + chunkSize, validRows.size());
+                    List<Integer> chunk = validRows.subList(start, end);
+                    String[] chunkHashes = Arrays.copyOfRange(hashes, start, end);
+                    List<T> chunkRows = new ArrayList<>(chunk.size());
+                    for (Integer row : chunk) {
+                        chunkRows.add(rows.get(row));
+                    }
+
+                    beginTransaction();
+                    try {
+                        int[] ids = insertChunk(conn, chunkRows, chunkHashes);
+                        conn.commit();
+                        DatabaseConfig.recordWrite();
+                        for (int j = 0; j < chunk.size(); j++) {
+                            results[chunk.get(j)] = BatchResult.RowResult.success(chunk.get(j), ids[j]);
+                            afterCommit(chunkRows.get(j));
+                        }
+                    } catch (SQLException e) {
+                        conn.rollback();
+                        logger.warn("Bulk {} chunk of {} rows failed, retrying row by row: {}",
+                                operation, chunk.size(), e.getMessage());
+                        for (int j = 0; j < chunk.size(); j++) {
+                            results[chunk.get(j)] = insertAlone(conn, chunkRows.get(j), chunk.get(j), chunkHashes[j]);
+                        }
+                    } finally {
+                        endTransaction();
+                    }
+                }
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.error("Error during bulk {}: {}", operation, e.getMessage(), e);
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == null) {
+                    results[i] = BatchResult.RowResult.failure(i, e.getMessage());
+                }
+            }
+        }
+
+        BatchResult result = new BatchResult(Arrays.asList(results));
+        logger.info("Bulk {} finished: {}", operation, result);
+        return result;
+    }
+
+    /**
+     * Insert a single row in its own transaction
+     */
+    private BatchResult.RowResult insertAlone(Connection conn, T row, int index, String hash) {
+        try {
+            int id = insertRow(conn, row, hash);
+            conn.commit();
+            DatabaseConfig.recordWrite();
+            afterCommit(row);
+            return BatchResult.RowResult.success(index, id);
+
+        } catch (SQLException e) {
+            logger.warn("Bulk {} of {} failed: {}", operation, describe(row), e.getMessage());
+            try {
+                conn.rollback();
+            } catch (SQLException ex) {
+                logger.error("Error rolling back transaction: {}", ex.getMessage(), ex);
+            }
+            return BatchResult.RowResult.failure(index, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.schoolmanagement.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-row outcome of a bulk DAO operation. Rows are reported in input order.
+ */
+public class BatchResult {
+    private final List<RowResult> rows;
+
+    /**
+     * Outcome of a single input row
+     */
+    public static class RowResult {
+        private final int index;
+        private final boolean success;
+        private final int generatedId;
+        private final String error;
+
+        private RowResult(int index, boolean success, int generatedId, String error) {
+            this.index = index;
+            this.success = success;
+            this.generatedId = generatedId;
+            this.error = error;
+        }
+
+        public static RowResult success(int index, int generatedId) {
+            return new RowResult(index, true, generatedId, null);
+        }
+
+        public static RowResult failure(int index, String error) {
+            return new RowResult(index, false, 0, error);
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        /**
+         * @return the generated key of the primary row inserted for this input, or 0 if it failed
+         */
+        public int getGeneratedId() {
+            return generatedId;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return success ? "#" + index + " ok (id " + generatedId + ")" : "#" + index + " failed: " + error;
+        }
+    }
+
+    public BatchResult(List<RowResult> rows) {
+        this.rows = Collections.unmodifiableList(new ArrayList<>(rows));
+    }
+
+    public List<RowResult> getRows() {
+        return rows;
+    }
+
+    public int getSuccessCount() {
+        int count = 0;
+        for (RowResult row : rows) {
+            if (row.isSuccess()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getFailureCount() {
+        return rows.size() - getSuccessCount();
+    }
+
+    public List<RowResult> getFailures() {
+        List<RowResult> failures = new ArrayList<>();
+        for (RowResult row : rows) {
+            if (!row.isSuccess()) {
+                failures.add(row);
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchResult{total=%d, succeeded=%d, failed=%d}",
+                rows.size(), getSuccessCount(), getFailureCount());
+    }
+}
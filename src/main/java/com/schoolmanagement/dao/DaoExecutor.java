@@ -0,0 +1,126 @@
+package com.schoolmanagement.dao;
+
+import com.schoolmanagement.config.AppConfig;
+import com.schoolmanagement.config.DatabaseConfig;
+import com.schoolmanagement.util.LatencyHistogram;
+import com.schoolmanagement.util.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded executor for running DAO calls off the Event Dispatch Thread.
+ * It has one worker per pooled connection, so queued work waits here instead of
+ * blocking inside the connection pool. When the queue is full, submissions fail fast
+ * with RejectedExecutionException. Each call is timed under "dao.&lt;operation&gt;" in
+ * MetricsRegistry, and time spent queued under "dao.queue_wait".
+ */
+public final class DaoExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(DaoExecutor.class);
+    private static final DaoExecutor INSTANCE = new DaoExecutor(
+        DatabaseConfig.getMaximumPoolSize(),
+        AppConfig.getIntProperty("dao.async.queue.capacity", 256),
+        AppConfig.getIntProperty("dao.async.timeout.seconds", 30));
+
+    private final ThreadPoolExecutor executor;
+    private final long defaultTimeoutSeconds;
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private final LatencyHistogram queueWait = metrics.timer("dao.queue_wait");
+
+    private DaoExecutor(int threads, int queueCapacity, long defaultTimeoutSeconds) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            r -> {
+                Thread thread = new Thread(r, "dao-worker-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.defaultTimeoutSeconds = defaultTimeoutSeconds;
+        metrics.gauge("dao.executor.active", executor::getActiveCount);
+        metrics.gauge("dao.executor.queued", () -> executor.getQueue().size());
+        logger.info("DAO executor started with {} workers and queue capacity {}", threads, queueCapacity);
+    }
+
+    public static DaoExecutor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Run a DAO call with the default timeout
+     * @see #submit(String, Callable, long, TimeUnit)
+     */
+    public <T> CompletableFuture<T> submit(String operation, Callable<T> call) {
+        return submit(operation, call, defaultTimeoutSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Run a DAO call on a worker thread.
+     * Cancelling the returned future, or letting it time out, interrupts the worker.
+     * @param operation metric name of the call, e.g. "StudentDAO.getStudentById"
+     * @param call the DAO call
+     * @param timeout time allowed before the future completes with TimeoutException; 0 for none
+     * @param unit unit of timeout
+     * @return a future completed with the call's result
+     */
+    public <T> CompletableFuture<T> submit(String operation, Callable<T> call, long timeout, TimeUnit unit) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        LatencyHistogram latency = metrics.timer("dao." + operation);
+        long submittedAt = System.nanoTime();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueWait.recordNanos(startedAt - submittedAt);
+                if (future.isDone()) {
+                    return; // cancelled or timed out while queued
+                }
+                try {
+                    future.complete(call.call());
+                } catch (Throwable t) {
+                    metrics.counter("dao." + operation + ".errors").increment();
+                    future.completeExceptionally(t);
+                } finally {
+                    latency.recordNanos(System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("DAO executor saturated ({} queued), rejecting {}", executor.getQueue().size(), operation);
+            metrics.counter("dao.rejected").increment();
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                task.cancel(true);
+            }
+        });
+        return timeout > 0 ? future.orTimeout(timeout, unit) : future;
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Stop accepting work and interrupt running calls
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,43 @@
+package com.schoolmanagement.dao;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Precomputed name-to-constant table for mapping enum columns without Enum.valueOf
+ * @param <E> the enum type
+ */
+public final class EnumLookup<E extends Enum<E>> {
+    private final Class<E> type;
+    private final Map<String, E> byName;
+
+    private EnumLookup(Class<E> type) {
+        this.type = type;
+        E[] constants = type.getEnumConstants();
+        this.byName = new HashMap<>(constants.length * 2);
+        for (E constant : constants) {
+            byName.put(constant.name(), constant);
+        }
+    }
+
+    public static <E extends Enum<E>> EnumLookup<E> of(Class<E> type) {
+        return new EnumLookup<>(type);
+    }
+
+    /**
+     * Resolve a column value to its enum constant
+     * @param name the stored name, may be null
+     * @return the constant, or null if name is null
+     * @throws IllegalArgumentException if name is not a constant of this enum
+     */
+    public E get(String name) {
+        if (name == null) {
+            return null;
+        }
+        E constant = byName.get(name);
+        if (constant == null) {
+            throw new IllegalArgumentException("No enum constant " + type.getSimpleName() + "." + name);
+        }
+        return constant;
+    }
+}
@@ -0,0 +1,219 @@
+package com.schoolmanagement.dao;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only journal of writes made while the database was unreachable, one JSON object per line.
+ * Every entry is forced to disk before append() returns. Replay progress is kept in a separate
+ * checkpoint file holding the last replayed sequence number, so the journal itself is only ever
+ * appended to, and truncated once everything in it has been replayed.
+ */
+final class OfflineJournal {
+    private static final Logger logger = LoggerFactory.getLogger(OfflineJournal.class);
+
+    /**
+     * Kinds of journaled write
+     */
+    enum Type {
+        STUDENT_UPDATE, ATTENDANCE
+    }
+
+    /**
+     * One journaled write
+     */
+    static final class Entry {
+        private final long seq;
+        private final String recordedAt;
+        private final Type type;
+        private final JsonNode payload;
+
+        Entry(long seq, String recordedAt, Type type, JsonNode payload) {
+            this.seq = seq;
+            this.recordedAt = recordedAt;
+            this.type = type;
+            this.payload = payload;
+        }
+
+        long getSeq() {
+            return seq;
+        }
+
+        String getRecordedAt() {
+            return recordedAt;
+        }
+
+        Type getType() {
+            return type;
+        }
+
+        JsonNode getPayload() {
+            return payload;
+        }
+    }
+
+    private final ObjectMapper json;
+    private final Path journalFile;
+    private final Path checkpointFile;
+    private final FileChannel channel;
+    private long lastSeq;
+    private long checkpoint;
+    private int pending;
+
+    OfflineJournal(Path directory, ObjectMapper json) throws IOException {
+        this.json = json;
+        this.journalFile = directory.resolve("journal.jsonl");
+        this.checkpointFile = directory.resolve("journal.checkpoint");
+        this.checkpoint = readCheckpoint();
+        this.channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        if (channel.size() > 0 && !endsWithNewline()) {
+            // A crash cut the last entry short; keep the next one on a line of its own
+            channel.write(ByteBuffer.wrap(new byte[] {'\n'}));
+        }
+
+        List<Entry> entries = readAll();
+        for (Entry entry : entries) {
+            lastSeq = Math.max(lastSeq, entry.getSeq());
+            if (entry.getSeq() > checkpoint) {
+                pending++;
+            }
+        }
+        lastSeq = Math.max(lastSeq, checkpoint);
+    }
+
+    /**
+     * Append a write and force it to disk
+     * @param type the kind of write
+     * @param payload its data
+     * @throws IOException if the entry could not be stored
+     */
+    synchronized void append(Type type, JsonNode payload) throws IOException {
+        ObjectNode line = json.createObjectNode();
+        line.put("seq", lastSeq + 1);
+        line.put("recordedAt", LocalDateTime.now().toString());
+        line.put("type", type.name());
+        line.set("payload", payload);
+
+        channel.write(ByteBuffer.wrap((json.writeValueAsString(line) + "\n").getBytes(StandardCharsets.UTF_8)));
+        channel.force(false);
+        lastSeq++;
+        pending++;
+    }
+
+    /**
+     * @return the entries not replayed yet, oldest first
+     */
+    synchronized List<Entry> readPending() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        for (Entry entry : readAll()) {
+            if (entry.getSeq() > checkpoint) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Record that every entry up to and including seq has been replayed. Once nothing is pending,
+     * the journal is truncated.
+     * @param seq the last replayed sequence number
+     * @param count how many entries that covers
+     */
+    synchronized void markReplayed(long seq, int count) throws IOException {
+        if (seq <= checkpoint) {
+            return;
+        }
+        pending = Math.max(0, pending - count);
+        checkpoint = seq;
+        if (checkpoint >= lastSeq) {
+            // Nothing appended since the replay began: start an empty journal.
+            // Sequence numbers keep counting so a stale checkpoint can never hide a new entry.
+            channel.truncate(0);
+            channel.force(true);
+            pending = 0;
+        }
+        writeCheckpoint();
+    }
+
+    synchronized int getPendingCount() {
+        return pending;
+    }
+
+    synchronized void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Error closing offline journal: {}", e.getMessage());
+        }
+    }
+
+    private boolean endsWithNewline() throws IOException {
+        try (FileChannel reader = FileChannel.open(journalFile, StandardOpenOption.READ)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            reader.read(last, reader.size() - 1);
+            return last.get(0) == '\n';
+        }
+    }
+
+    private List<Entry> readAll() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.exists(journalFile)) {
+            return entries;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    JsonNode node = json.readTree(line);
+                    entries.add(new Entry(node.get("seq").asLong(), node.path("recordedAt").asText(null),
+                            Type.valueOf(node.get("type").asText()), node.get("payload")));
+                } catch (IOException | RuntimeException e) {
+                    // Typically the last line, cut short by a crash while it was being written
+                    logger.warn("Skipping unreadable offline journal line {}: {}", lineNumber, e.getMessage());
+                }
+            }
+        }
+        return entries;
+    }
+
+    private long readCheckpoint() throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return 0;
+        }
+        String value = Files.readString(checkpointFile, StandardCharsets.UTF_8).trim();
+        try {
+            return value.isEmpty() ? 0 : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring corrupt offline journal checkpoint '{}'", value);
+            return 0;
+        }
+    }
+
+    private void writeCheckpoint() throws IOException {
+        Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        Files.writeString(temp, Long.toString(checkpoint), StandardCharsets.UTF_8);
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,931 @@
+package com.schoolmanagement.dao;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.std.FromStringDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.mysql.cj.exceptions.CJCommunicationsException;
+import com.mysql.cj.jdbc.exceptions.CommunicationsException;
+import com.schoolmanagement.config.AppConfig;
+import com.schoolmanagement.config.DatabaseConfig;
+import com.schoolmanagement.model.AttendanceRecord;
+import com.schoolmanagement.model.SchoolClass;
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.StudentSummary;
+import com.schoolmanagement.model.Teacher;
+import com.schoolmanagement.model.User;
+import com.schoolmanagement.model.UserProfile;
+import com.schoolmanagement.util.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Local store that keeps the application usable while the database is unreachable.
+ * <ul>
+ *   <li>Students, student grid rows, classes and their students, attendance marks and login profiles
+ *   read from the database are cached in memory (most recently used first) and saved to cache.json,
+ *   so they can be served offline.</li>
+ *   <li>Student edits and attendance marks made offline are appended to an on-disk journal
+ *   (see OfflineJournal). Each keeps the row or mark as this client last saw it before the change.</li>
+ *   <li>While offline, the database is probed in the background. When it answers, the journal is
+ *   replayed in batches. A journaled write whose row was changed on the server in the meantime is a
+ *   conflict: the server's version is kept and the write is logged to conflicts.jsonl for review.</li>
+ * </ul>
+ * Files live in offline.dir (default ~/.school-management/offline). The cache holds password hashes
+ * of users who logged in on this machine, so the directory is made readable by its owner only, and a
+ * hash is only accepted for offline.credentials.max.age.days after the user last signed in online.
+ */
+public final class OfflineStore {
+    private static final Logger logger = LoggerFactory.getLogger(OfflineStore.class);
+
+    // Dates as ISO strings; fields rather than getters, so derived values such as getAge() are not stored
+    static final ObjectMapper JSON = new ObjectMapper()
+        .registerModule(new SimpleModule()
+            .addSerializer(LocalDate.class, ToStringSerializer.instance)
+            .addSerializer(LocalDateTime.class, ToStringSerializer.instance)
+            .addDeserializer(LocalDate.class, new FromStringDeserializer<LocalDate>(LocalDate.class) {
+                @Override
+                protected LocalDate _deserialize(String value, DeserializationContext context) {
+                    return LocalDate.parse(value);
+                }
+            })
+            .addDeserializer(LocalDateTime.class, new FromStringDeserializer<LocalDateTime>(LocalDateTime.class) {
+                @Override
+                protected LocalDateTime _deserialize(String value, DeserializationContext context) {
+                    return LocalDateTime.parse(value);
+                }
+            }))
+        .setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+        .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private static final int PROBE_TIMEOUT_SECONDS = 5;
+
+    private static final OfflineStore INSTANCE = new OfflineStore();
+
+    /**
+     * What happened to one journaled write during replay
+     */
+    public enum ReplayOutcome {
+        /** Written to the database */
+        APPLIED,
+        /** The database already held exactly this change, e.g. from an interrupted replay */
+        ALREADY_APPLIED,
+        /** The row changed on the server while offline; the server's version was kept */
+        CONFLICT,
+        /** The database rejected the write, e.g. a foreign key no longer exists */
+        FAILED
+    }
+
+    /**
+     * Totals of one replay run
+     */
+    public static final class ReplayResult {
+        private final int applied;
+        private final int alreadyApplied;
+        private final int conflicts;
+        private final int failed;
+        private final int remaining;
+
+        ReplayResult(int[] counts, int remaining) {
+            this.applied = counts[ReplayOutcome.APPLIED.ordinal()];
+            this.alreadyApplied = counts[ReplayOutcome.ALREADY_APPLIED.ordinal()];
+            this.conflicts = counts[ReplayOutcome.CONFLICT.ordinal()];
+            this.failed = counts[ReplayOutcome.FAILED.ordinal()];
+            this.remaining = remaining;
+        }
+
+        public int getApplied() {
+            return applied;
+        }
+
+        public int getAlreadyApplied() {
+            return alreadyApplied;
+        }
+
+        public int getConflicts() {
+            return conflicts;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        /**
+         * @return entries still journaled, because the connection was lost again during replay
+         */
+        public int getRemaining() {
+            return remaining;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("applied=%d, alreadyApplied=%d, conflicts=%d, failed=%d, remaining=%d",
+                    applied, alreadyApplied, conflicts, failed, remaining);
+        }
+    }
+
+    private final boolean enabled = Boolean.parseBoolean(AppConfig.getProperty("offline.enabled", "true"));
+    private final int maxEntries = AppConfig.getIntProperty("offline.cache.maxsize", 5000);
+    private final int replayBatchSize = AppConfig.getIntProperty("offline.replay.batch.size", 100);
+    private final long credentialsMaxAgeMillis =
+            TimeUnit.DAYS.toMillis(AppConfig.getIntProperty("offline.credentials.max.age.days", 14));
+    private final Path directory;
+    private final Path cacheFile;
+    private final Path conflictFile;
+    private final Map<Integer, Student> students = lruMap();
+    private final Map<Integer, StudentSummary> summaries = lruMap();
+    private final Map<String, CachedProfile> profiles = lruMap();
+    // The mark this client last saw per student and day, the base of the next offline mark
+    private final Map<String, AttendanceRecord> attendance = lruMap();
+    // Keyed by teacher id, 0 for all classes
+    private final Map<Integer, List<SchoolClass>> classes = lruMap();
+    private final Map<Integer, List<StudentSummary>> rosters = lruMap();
+    private final Object replayLock = new Object();
+    private OfflineJournal journal;
+    private volatile boolean offline;
+    private volatile boolean dirty;
+
+    private OfflineStore() {
+        directory = Paths.get(AppConfig.getProperty("offline.dir",
+                Paths.get(System.getProperty("user.home"), ".school-management", "offline").toString()));
+        cacheFile = directory.resolve("cache.json");
+        conflictFile = directory.resolve("conflicts.jsonl");
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            Files.createDirectories(directory);
+            if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+                Files.setPosixFilePermissions(directory, PosixFilePermissions.fromString("rwx------"));
+            }
+            journal = new OfflineJournal(directory, JSON);
+            loadCache();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Offline store unavailable in {}: {}", directory, e.getMessage(), e);
+            journal = null;
+        }
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "offline-store");
+            thread.setDaemon(true);
+            return thread;
+        });
+        int reconnectSeconds = AppConfig.getIntProperty("offline.reconnect.seconds", 30);
+        scheduler.scheduleWithFixedDelay(guarded("reconnect", this::reconnect),
+                reconnectSeconds, reconnectSeconds, TimeUnit.SECONDS);
+        scheduler.scheduleWithFixedDelay(guarded("cache save", this::saveCacheIfDirty), 30, 30, TimeUnit.SECONDS);
+        MetricsRegistry.getInstance().gauge("offline.pending", this::getPendingCount);
+    }
+
+    // A periodic task that throws is never run again, so log and carry on instead
+    private static Runnable guarded(String name, Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.error("Offline {} task failed, will retry: {}", name, e.getMessage(), e);
+            }
+        };
+    }
+
+    public static OfflineStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return true while the database is known to be unreachable and calls are served locally
+     */
+    public boolean isOffline() {
+        return offline;
+    }
+
+    /**
+     * Decide whether a failed DAO call should be served locally. A lost connection switches the store
+     * to offline mode; any other SQL error is left to the caller. A pool timeout without a cause may
+     * only mean the pool is busy, so the server is probed before going offline.
+     * @param e the failure
+     * @return true if the caller should fall back to the offline store
+     */
+    boolean fallBack(SQLException e) {
+        if (journal == null) {
+            return false;
+        }
+        if (!isConnectionFailure(e)) {
+            if (!(e instanceof SQLTransientConnectionException)) {
+                return false;
+            }
+            if (!offline && DatabaseConfig.isReachable(PROBE_TIMEOUT_SECONDS)) {
+                logger.warn("Connection pool busy, database still reachable: {}", e.getMessage());
+                return false;
+            }
+        }
+        markOffline(e.getMessage());
+        return true;
+    }
+
+    /**
+     * Switch to offline mode, e.g. because the database could not be reached at startup.
+     * The database is then probed in the background until it answers.
+     * @param reason logged once
+     */
+    public void markOffline(String reason) {
+        if (journal != null && !offline) {
+            offline = true;
+            logger.warn("Database unreachable, working offline ({} journaled writes pending): {}",
+                    getPendingCount(), reason);
+        }
+    }
+
+    /**
+     * @param e a failure from JDBC or the pool
+     * @return true if it says the database could not be reached: SQLState class 08 or a driver
+     *         communications failure anywhere in the cause chain
+     */
+    static boolean isConnectionFailure(SQLException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof CommunicationsException || t instanceof CJCommunicationsException) {
+                return true;
+            }
+            if (t instanceof SQLException) {
+                String state = ((SQLException) t).getSQLState();
+                if (state != null && state.startsWith("08")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // ---- cache ----
+
+    /**
+     * Cache a copy of a student as the database holds it (or as last edited offline).
+     * Its grid row, if cached, is refreshed too.
+     */
+    void cacheStudent(Student student) {
+        if (journal == null) {
+            return;
+        }
+        Student copy = copy(student);
+        synchronized (this) {
+            putStudent(copy);
+        }
+        dirty = true;
+    }
+
+    // Caller holds the monitor
+    private void putStudent(Student copy) {
+        students.put(copy.getStudentId(), copy);
+        StudentSummary summary = summaries.get(copy.getStudentId());
+        if (summary != null) {
+            summary.setStudentNumber(copy.getStudentNumber());
+            summary.setFirstName(copy.getFirstName());
+            summary.setLastName(copy.getLastName());
+            summary.setEmail(copy.getEmail());
+            summary.setPhoneNumber(copy.getPhoneNumber());
+            summary.setGender(copy.getGender());
+            summary.setDateOfBirth(copy.getDateOfBirth());
+            summary.setActive(copy.isActive());
+        }
+    }
+
+    /**
+     * Forget a student changed on the server, e.g. deleted or archived; the next online read caches it again
+     */
+    synchronized void evictStudent(int studentId) {
+        students.remove(studentId);
+        summaries.remove(studentId);
+        rosters.replaceAll((classId, roster) -> roster.stream()
+                .filter(summary -> summary.getStudentId() != studentId)
+                .collect(Collectors.toUnmodifiableList()));
+        dirty = true;
+    }
+
+    /**
+     * Forget every cached student, e.g. after a cohort update whose students are not known one by one
+     */
+    synchronized void evictAllStudents() {
+        students.clear();
+        summaries.clear();
+        rosters.clear();
+        dirty = true;
+    }
+
+    // Callers edit the students they are given, so the cache never shares instances with them
+    private static Student copy(Student student) {
+        return JSON.convertValue(student, Student.class);
+    }
+
+    /**
+     * Cache copies of the first offline.cache.maxsize students, under one lock; the rest would only
+     * evict each other from the cache
+     */
+    void cacheStudents(Collection<Student> loaded) {
+        if (journal == null || loaded.isEmpty()) {
+            return;
+        }
+        List<Student> copies = loaded.stream()
+                .limit(maxEntries)
+                .map(OfflineStore::copy)
+                .collect(Collectors.toList());
+        synchronized (this) {
+            // Oldest first, so the first rows loaded end up the most recently used
+            for (int i = copies.size() - 1; i >= 0; i--) {
+                putStudent(copies.get(i));
+            }
+        }
+        dirty = true;
+    }
+
+    void cacheSummaries(Collection<StudentSummary> loaded) {
+        if (journal == null) {
+            return;
+        }
+        synchronized (this) {
+            loaded.forEach(summary -> summaries.put(summary.getStudentId(), summary));
+        }
+        dirty = true;
+    }
+
+    /**
+     * Cache the profile of a user who just signed in online; the offline sign-in window starts now
+     */
+    void cacheProfile(UserProfile profile) {
+        if (journal == null) {
+            return;
+        }
+        synchronized (this) {
+            profiles.put(profile.getUser().getUsername(), new CachedProfile(profile, System.currentTimeMillis()));
+        }
+        dirty = true;
+    }
+
+    /**
+     * Forget a user the database no longer lets sign in: not found, inactive, or with another password
+     * @param username the user
+     * @param current the user as the database holds it, or null if not found
+     */
+    synchronized void evictProfileUnlessCurrent(String username, User current) {
+        CachedProfile cached = profiles.get(username);
+        if (cached == null) {
+            return;
+        }
+        User user = cached.profile.getUser();
+        if (current == null || !current.isActive() || !current.getPasswordHash().equals(user.getPasswordHash())) {
+            profiles.remove(username);
+            dirty = true;
+            logger.info("Removed cached sign-in of {}: no longer valid on the server", username);
+        }
+    }
+
+    /**
+     * Forget the cached sign-in of a user whose password was changed, so the old one stops working offline
+     * @param userId the user
+     */
+    synchronized void evictProfile(int userId) {
+        if (profiles.values().removeIf(cached -> cached.profile.getUser().getUserId() == userId)) {
+            dirty = true;
+            logger.info("Removed cached sign-in of user {} after a password change", userId);
+        }
+    }
+
+    /**
+     * Remember marks as read from or written to the database, or as last marked offline
+     */
+    void cacheAttendance(Collection<AttendanceRecord> marks) {
+        if (journal == null) {
+            return;
+        }
+        synchronized (this) {
+            for (AttendanceRecord mark : marks) {
+                attendance.put(AttendanceDAO.key(mark), copy(mark));
+            }
+        }
+        dirty = true;
+    }
+
+    /**
+     * @return the cached marks of these students for one day, keyed by student id
+     */
+    synchronized Map<Integer, AttendanceRecord> getAttendance(Collection<StudentSummary> students, LocalDate date) {
+        Map<Integer, AttendanceRecord> marks = new LinkedHashMap<>();
+        for (StudentSummary student : students) {
+            AttendanceRecord mark = attendance.get(AttendanceDAO.key(student.getStudentId(), date));
+            if (mark != null) {
+                marks.put(student.getStudentId(), copy(mark));
+            }
+        }
+        return marks;
+    }
+
+    void cacheClasses(Integer teacherId, List<SchoolClass> loaded) {
+        if (journal == null) {
+            return;
+        }
+        synchronized (this) {
+            classes.put(teacherId != null ? teacherId : 0, List.copyOf(loaded));
+        }
+        dirty = true;
+    }
+
+    synchronized List<SchoolClass> getClasses(Integer teacherId) {
+        return classes.getOrDefault(teacherId != null ? teacherId : 0, List.of());
+    }
+
+    /**
+     * Cache the students of a class, so attendance can be taken for it offline
+     */
+    void cacheRoster(int classId, List<StudentSummary> students) {
+        if (journal == null) {
+            return;
+        }
+        synchronized (this) {
+            rosters.put(classId, List.copyOf(students));
+        }
+        dirty = true;
+    }
+
+    synchronized List<StudentSummary> getRoster(int classId) {
+        return rosters.getOrDefault(classId, List.of());
+    }
+
+    synchronized void evictAttendance(AttendanceRecord mark) {
+        attendance.remove(AttendanceDAO.key(mark));
+        dirty = true;
+    }
+
+    private static AttendanceRecord copy(AttendanceRecord mark) {
+        return JSON.convertValue(mark, AttendanceRecord.class);
+    }
+
+    synchronized Optional<Student> getStudent(int studentId) {
+        return Optional.ofNullable(students.get(studentId)).map(OfflineStore::copy);
+    }
+
+    synchronized Optional<Student> getStudentByStudentNumber(String studentNumber) {
+        return students.values().stream()
+                .filter(student -> studentNumber.equals(student.getStudentNumber()))
+                .findFirst()
+                .map(OfflineStore::copy);
+    }
+
+    /**
+     * @return the cached profile of an active user who signed in online within
+     *         offline.credentials.max.age.days; older entries are removed
+     */
+    synchronized Optional<UserProfile> getProfile(String username) {
+        CachedProfile cached = profiles.get(username);
+        if (cached == null) {
+            return Optional.empty();
+        }
+        if (System.currentTimeMillis() - cached.cachedAtMillis > credentialsMaxAgeMillis
+                || !cached.profile.getUser().isActive()) {
+            profiles.remove(username);
+            dirty = true;
+            logger.info("Cached sign-in of {} has expired or the user is inactive", username);
+            return Optional.empty();
+        }
+        return Optional.of(cached.profile);
+    }
+
+    /**
+     * Keyset page over the cached active students, in the same order as StudentDAO.getStudentsPage
+     */
+    synchronized List<Student> getStudentsPage(Integer afterStudentId, int limit, boolean descending) {
+        List<Student> page = page(students.values(), Student::getStudentId, Student::isActive,
+                afterStudentId, limit, descending);
+        page.replaceAll(OfflineStore::copy);
+        return page;
+    }
+
+    /**
+     * Keyset page over the cached grid rows, in the same order as StudentDAO.getStudentSummariesPage
+     */
+    synchronized List<StudentSummary> getStudentSummariesPage(Integer afterStudentId, int limit, boolean descending) {
+        return page(summaries.values(), StudentSummary::getStudentId, StudentSummary::isActive,
+                afterStudentId, limit, descending);
+    }
+
+    private static <T> List<T> page(Collection<T> rows, ToIntFunction<T> id, Predicate<T> active,
+                                    Integer after, int limit, boolean descending) {
+        int cursor = after != null ? after : (descending ? Integer.MAX_VALUE : 0);
+        Comparator<T> order = Comparator.comparingInt(id);
+        List<T> page = new ArrayList<>();
+        rows.stream()
+                .filter(active)
+                .filter(row -> descending ? id.applyAsInt(row) < cursor : id.applyAsInt(row) > cursor)
+                .sorted(descending ? order.reversed() : order)
+                .limit(limit)
+                .forEach(page::add);
+        return page;
+    }
+
+    // ---- journal ----
+
+    /**
+     * Journal a student edit made offline. The cached row is the last version known from the server
+     * (or from an earlier offline edit) and is kept with the edit for conflict detection.
+     * @param change the edited student
+     * @return true if journaled; false if the student is not cached, so no conflict check is possible
+     */
+    boolean journalStudentUpdate(Student change) {
+        Optional<Student> base = getStudent(change.getStudentId());
+        if (journal == null || base.isEmpty()) {
+            logger.warn("Cannot edit student {} offline: not in the local cache", change.getStudentId());
+            return false;
+        }
+        ObjectNode payload = JSON.createObjectNode();
+        payload.set("base", JSON.valueToTree(base.get()));
+        payload.set("change", JSON.valueToTree(change));
+        if (!append(OfflineJournal.Type.STUDENT_UPDATE, payload)) {
+            return false;
+        }
+
+        cacheStudent(change);
+        logger.info("Student {} updated offline; will be synced when the database is back", change.getStudentNumber());
+        return true;
+    }
+
+    /**
+     * Journal attendance marks taken offline. Each is kept with the mark this client last saw for that
+     * student and day, if any, so replay only reports a conflict if someone else changed it since.
+     * @param records the marks
+     * @return true if journaled
+     */
+    boolean journalAttendance(List<AttendanceRecord> records) {
+        if (journal == null) {
+            return false;
+        }
+        for (AttendanceRecord record : records) {
+            AttendanceRecord base;
+            synchronized (this) {
+                base = attendance.get(AttendanceDAO.key(record));
+            }
+            ObjectNode payload = JSON.createObjectNode();
+            payload.set("base", JSON.valueToTree(base));
+            payload.set("change", JSON.valueToTree(record));
+            if (!append(OfflineJournal.Type.ATTENDANCE, payload)) {
+                return false;
+            }
+            cacheAttendance(List.of(record));
+        }
+        logger.info("{} attendance marks saved offline; will be synced when the database is back", records.size());
+        return true;
+    }
+
+    private boolean append(OfflineJournal.Type type, JsonNode payload) {
+        try {
+            journal.append(type, payload);
+            return true;
+        } catch (IOException e) {
+            logger.error("Could not write offline journal: {}", e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * @return journaled writes not yet replayed
+     */
+    public int getPendingCount() {
+        return journal != null ? journal.getPendingCount() : 0;
+    }
+
+    // ---- replay ----
+
+    /**
+     * Replay journaled writes against the database, oldest first. Consecutive attendance marks are sent
+     * in batches of offline.replay.batch.size; if a batch is rejected it is retried one mark at a time,
+     * so a single bad mark cannot hold up the rest. Stops, leaving the rest journaled, if the connection
+     * is lost again.
+     * @return what happened to the journaled writes
+     */
+    public ReplayResult replay() {
+        // Not the store's own monitor: DAO calls keep reading the cache while a replay runs
+        synchronized (replayLock) {
+            return replayPending();
+        }
+    }
+
+    private ReplayResult replayPending() {
+        int[] counts = new int[ReplayOutcome.values().length];
+        if (journal == null) {
+            return new ReplayResult(counts, 0);
+        }
+
+        List<OfflineJournal.Entry> pending;
+        try {
+            pending = journal.readPending();
+        } catch (IOException e) {
+            logger.error("Could not read offline journal: {}", e.getMessage(), e);
+            return new ReplayResult(counts, getPendingCount());
+        }
+        if (pending.isEmpty()) {
+            return new ReplayResult(counts, 0);
+        }
+        logger.info("Replaying {} journaled writes", pending.size());
+
+        int start = 0;
+        try {
+            while (start < pending.size()) {
+                int end = start + 1;
+                if (pending.get(start).getType() == OfflineJournal.Type.ATTENDANCE) {
+                    while (end < pending.size() && end - start < replayBatchSize
+                            && pending.get(end).getType() == OfflineJournal.Type.ATTENDANCE) {
+                        end++;
+                    }
+                }
+                List<OfflineJournal.Entry> batch = pending.subList(start, end);
+                ReplayOutcome[] outcomes = replayBatch(batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    counts[outcomes[i].ordinal()]++;
+                    if (outcomes[i] == ReplayOutcome.CONFLICT || outcomes[i] == ReplayOutcome.FAILED) {
+                        logConflict(batch.get(i), outcomes[i]);
+                    }
+                }
+                journal.markReplayed(batch.get(batch.size() - 1).getSeq(), batch.size());
+                start = end;
+            }
+        } catch (SQLException e) {
+            markOffline(e.getMessage());
+        } catch (IOException e) {
+            logger.error("Could not update offline journal checkpoint: {}", e.getMessage(), e);
+        }
+
+        ReplayResult result = new ReplayResult(counts, getPendingCount());
+        if (result.getConflicts() > 0 || result.getFailed() > 0) {
+            logger.warn("Offline replay finished with conflicts, see {}: {}", conflictFile, result);
+        } else {
+            logger.info("Offline replay finished: {}", result);
+        }
+        return result;
+    }
+
+    /**
+     * @throws SQLException only if the connection was lost, so the batch must stay journaled
+     */
+    private ReplayOutcome[] replayBatch(List<OfflineJournal.Entry> batch) throws SQLException {
+        try {
+            return applyBatch(batch);
+        } catch (SQLException e) {
+            if (isConnectionFailure(e)) {
+                throw e;
+            }
+            if (batch.size() == 1) {
+                logger.warn("Journaled write {} rejected by the database: {}", batch.get(0).getSeq(), e.getMessage());
+                return new ReplayOutcome[] {ReplayOutcome.FAILED};
+            }
+        }
+        ReplayOutcome[] outcomes = new ReplayOutcome[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            outcomes[i] = replayBatch(batch.subList(i, i + 1))[0];
+        }
+        return outcomes;
+    }
+
+    private ReplayOutcome[] applyBatch(List<OfflineJournal.Entry> batch) throws SQLException {
+        try {
+            if (batch.get(0).getType() == OfflineJournal.Type.STUDENT_UPDATE) {
+                JsonNode payload = batch.get(0).getPayload();
+                Student base = JSON.treeToValue(payload.get("base"), Student.class);
+                Student change = JSON.treeToValue(payload.get("change"), Student.class);
+                ReplayOutcome outcome = new StudentDAO().replayStudentUpdate(base, change);
+                if (outcome == ReplayOutcome.CONFLICT) {
+                    // The cached copy holds the rejected edit; reload the server's version on next read
+                    evictStudent(change.getStudentId());
+                }
+                return new ReplayOutcome[] {outcome};
+            }
+            List<AttendanceRecord> bases = new ArrayList<>(batch.size());
+            List<AttendanceRecord> changes = new ArrayList<>(batch.size());
+            for (OfflineJournal.Entry entry : batch) {
+                JsonNode base = entry.getPayload().get("base");
+                bases.add(base == null || base.isNull() ? null : JSON.treeToValue(base, AttendanceRecord.class));
+                changes.add(JSON.treeToValue(entry.getPayload().get("change"), AttendanceRecord.class));
+            }
+            ReplayOutcome[] outcomes = new AttendanceDAO().replayAttendance(bases, changes);
+            for (int i = 0; i < outcomes.length; i++) {
+                if (outcomes[i] == ReplayOutcome.CONFLICT) {
+                    // The cached mark is the rejected one; the server's is read again next time
+                    evictAttendance(changes.get(i));
+                }
+            }
+            return outcomes;
+        } catch (IOException e) {
+            throw new SQLException("Unreadable journal entry: " + e.getMessage(), e);
+        }
+    }
+
+    private void logConflict(OfflineJournal.Entry entry, ReplayOutcome outcome) {
+        ObjectNode line = JSON.createObjectNode();
+        line.put("outcome", outcome.name());
+        line.put("replayedAt", LocalDateTime.now().toString());
+        line.put("seq", entry.getSeq());
+        line.put("recordedAt", entry.getRecordedAt());
+        line.put("type", entry.getType().name());
+        line.set("payload", entry.getPayload());
+        try {
+            Files.write(conflictFile, (JSON.writeValueAsString(line) + "\n").getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.error("Could not record replay conflict for journal entry {}: {}", entry.getSeq(), e.getMessage());
+        }
+    }
+
+    /**
+     * While offline, check whether the database answers again and if so replay the journal
+     */
+    private void reconnect() {
+        if (!offline) {
+            return;
+        }
+        // A pool that never started gets a fresh attempt; a running pool is simply asked for a connection
+        if (!DatabaseConfig.startAsync().join()) {
+            return;
+        }
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            if (!conn.isValid(5)) {
+                return;
+            }
+        } catch (SQLException e) {
+            logger.debug("Database still unreachable: {}", e.getMessage());
+            return;
+        }
+
+        logger.info("Database reachable again");
+        offline = false;
+        replay();
+    }
+
+    /**
+     * Replay pending writes on a background thread, e.g. after a normal startup
+     */
+    public void replayInBackground() {
+        if (getPendingCount() == 0) {
+            return;
+        }
+        Thread thread = new Thread(this::replay, "offline-replay");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // ---- persistence ----
+
+    private void loadCache() throws IOException {
+        if (!Files.exists(cacheFile)) {
+            return;
+        }
+        JsonNode root = JSON.readTree(cacheFile.toFile());
+        synchronized (this) {
+            for (JsonNode node : root.path("students")) {
+                Student student = JSON.treeToValue(node, Student.class);
+                students.put(student.getStudentId(), student);
+            }
+            for (JsonNode node : root.path("summaries")) {
+                StudentSummary summary = JSON.treeToValue(node, StudentSummary.class);
+                summaries.put(summary.getStudentId(), summary);
+            }
+            for (JsonNode node : root.path("attendance")) {
+                AttendanceRecord mark = JSON.treeToValue(node, AttendanceRecord.class);
+                attendance.put(AttendanceDAO.key(mark), mark);
+            }
+            for (JsonNode node : root.path("classes")) {
+                List<SchoolClass> list = new ArrayList<>();
+                for (JsonNode item : node.path("classes")) {
+                    list.add(JSON.treeToValue(item, SchoolClass.class));
+                }
+                classes.put(node.path("teacherId").asInt(), list);
+            }
+            for (JsonNode node : root.path("rosters")) {
+                List<StudentSummary> list = new ArrayList<>();
+                for (JsonNode item : node.path("students")) {
+                    list.add(JSON.treeToValue(item, StudentSummary.class));
+                }
+                rosters.put(node.path("classId").asInt(), list);
+            }
+            for (JsonNode node : root.path("profiles")) {
+                User user = JSON.treeToValue(node.get("user"), User.class);
+                Student student = node.hasNonNull("student") ? JSON.treeToValue(node.get("student"), Student.class) : null;
+                Teacher teacher = node.hasNonNull("teacher") ? JSON.treeToValue(node.get("teacher"), Teacher.class) : null;
+                // Entries written without a timestamp count as expired
+                profiles.put(user.getUsername(), new CachedProfile(new UserProfile(user, student, teacher),
+                        node.path("cachedAt").asLong(0)));
+            }
+        }
+        logger.info("Offline cache loaded: {} students, {} grid rows, {} users",
+                students.size(), summaries.size(), profiles.size());
+    }
+
+    private void saveCacheIfDirty() {
+        if (dirty) {
+            saveCache();
+        }
+    }
+
+    private void saveCache() {
+        ObjectNode root = JSON.createObjectNode();
+        synchronized (this) {
+            dirty = false;
+            ArrayNode studentNodes = root.putArray("students");
+            students.values().forEach(student -> studentNodes.add(JSON.valueToTree(student)));
+            ArrayNode summaryNodes = root.putArray("summaries");
+            summaries.values().forEach(summary -> summaryNodes.add(JSON.valueToTree(summary)));
+            ArrayNode attendanceNodes = root.putArray("attendance");
+            attendance.values().forEach(mark -> attendanceNodes.add(JSON.valueToTree(mark)));
+            ArrayNode classNodes = root.putArray("classes");
+            classes.forEach((teacherId, list) -> {
+                ObjectNode node = classNodes.addObject();
+                node.put("teacherId", teacherId);
+                node.set("classes", JSON.valueToTree(list));
+            });
+            ArrayNode rosterNodes = root.putArray("rosters");
+            rosters.forEach((classId, list) -> {
+                ObjectNode node = rosterNodes.addObject();
+                node.put("classId", classId);
+                node.set("students", JSON.valueToTree(list));
+            });
+            ArrayNode profileNodes = root.putArray("profiles");
+            for (CachedProfile cached : profiles.values()) {
+                UserProfile profile = cached.profile;
+                ObjectNode node = profileNodes.addObject();
+                node.set("user", JSON.valueToTree(profile.getUser()));
+                node.set("student", JSON.valueToTree(profile.getStudent().orElse(null)));
+                node.set("teacher", JSON.valueToTree(profile.getTeacher().orElse(null)));
+                node.put("cachedAt", cached.cachedAtMillis);
+            }
+        }
+        Path temp = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+        try {
+            JSON.writeValue(temp.toFile(), root);
+            Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            logger.warn("Could not save offline cache: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Save the cache and close the journal
+     */
+    public void close() {
+        if (journal != null) {
+            saveCache();
+            journal.close();
+        }
+    }
+
+    private static final class CachedProfile {
+        private final UserProfile profile;
+        private final long cachedAtMillis;
+
+        private CachedProfile(UserProfile profile, long cachedAtMillis) {
+            this.profile = profile;
+            this.cachedAtMillis = cachedAtMillis;
+        }
+    }
+
+    private <K, V> Map<K, V> lruMap() {
+        return new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+}
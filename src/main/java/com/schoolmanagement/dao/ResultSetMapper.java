@@ -0,0 +1,117 @@
+package com.schoolmanagement.dao;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Column-to-property bindings for an entity, compiled into index-based RowMappers.
+ * Column positions are resolved from ResultSetMetaData once per query shape (SQL text);
+ * after that each row is read by index with no label lookups. Columns the entity
+ * binds but the query does not select are skipped.
+ * @param <T> the mapped type
+ */
+public final class ResultSetMapper<T> {
+    private final Supplier<T> factory;
+    private final Map<String, ColumnReader<T>> readers;
+    private final ConcurrentHashMap<String, RowMapper<T>> compiledByQuery = new ConcurrentHashMap<>();
+
+    /**
+     * Reads one column into the target object
+     * @param <T> the mapped type
+     */
+    @FunctionalInterface
+    public interface ColumnReader<T> {
+        void read(T target, ResultSet rs, int columnIndex) throws SQLException;
+    }
+
+    private ResultSetMapper(Supplier<T> factory, Map<String, ColumnReader<T>> readers) {
+        this.factory = factory;
+        this.readers = readers;
+    }
+
+    public static <T> Builder<T> builder(Supplier<T> factory) {
+        return new Builder<>(factory);
+    }
+
+    /**
+     * Get the mapper for a query, compiling it on first use
+     * @param sql the query text, used as the cache key for its column layout
+     * @param rs a result set produced by that query
+     * @return a mapper reading columns by index
+     */
+    public RowMapper<T> forQuery(String sql, ResultSet rs) throws SQLException {
+        RowMapper<T> mapper = compiledByQuery.get(sql);
+        if (mapper == null) {
+            mapper = compile(rs.getMetaData());
+            RowMapper<T> existing = compiledByQuery.putIfAbsent(sql, mapper);
+            if (existing != null) {
+                mapper = existing;
+            }
+        }
+        return mapper;
+    }
+
+    /**
+     * Compile a mapper for a result set layout
+     * @param metaData the result set metadata
+     * @return a mapper reading columns by index
+     */
+    public RowMapper<T> compile(ResultSetMetaData metaData) throws SQLException {
+        List<Integer> indexes = new ArrayList<>();
+        List<ColumnReader<T>> boundReaders = new ArrayList<>();
+        Set<String> bound = new HashSet<>();
+
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            String label = metaData.getColumnLabel(i).toLowerCase(Locale.ROOT);
+            ColumnReader<T> reader = readers.get(label);
+            // First occurrence wins when a join selects the same column name twice
+            if (reader != null && bound.add(label)) {
+                indexes.add(i);
+                boundReaders.add(reader);
+            }
+        }
+
+        int[] columnIndexes = indexes.stream().mapToInt(Integer::intValue).toArray();
+        List<ColumnReader<T>> columnReaders = List.copyOf(boundReaders);
+
+        return rs -> {
+            T target = factory.get();
+            for (int i = 0; i < columnIndexes.length; i++) {
+                columnReaders.get(i).read(target, rs, columnIndexes[i]);
+            }
+            return target;
+        };
+    }
+
+    /**
+     * Builder collecting column bindings for an entity
+     * @param <T> the mapped type
+     */
+    public static final class Builder<T> {
+        private final Supplier<T> factory;
+        private final Map<String, ColumnReader<T>> readers = new LinkedHashMap<>();
+
+        private Builder(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        public Builder<T> column(String label, ColumnReader<T> reader) {
+            readers.put(label.toLowerCase(Locale.ROOT), reader);
+            return this;
+        }
+
+        public ResultSetMapper<T> build() {
+            return new ResultSetMapper<>(factory, new LinkedHashMap<>(readers));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.schoolmanagement.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a ResultSet to an object
+ * @param <T> the mapped type
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    /**
+     * Map the current row
+     * @param rs a result set positioned on a row
+     * @return the mapped object
+     * @throws SQLException if a column cannot be read
+     */
+    T mapRow(ResultSet rs) throws SQLException;
+}
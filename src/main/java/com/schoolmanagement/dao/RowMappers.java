@@ -0,0 +1,126 @@
+package com.schoolmanagement.dao;
+
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.StudentSummary;
+import com.schoolmanagement.model.Teacher;
+import com.schoolmanagement.model.User;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+
+/**
+ * Shared column bindings for the entities read by the DAOs
+ */
+public final class RowMappers {
+    private static final EnumLookup<Student.Gender> GENDERS = EnumLookup.of(Student.Gender.class);
+    private static final EnumLookup<User.UserRole> ROLES = EnumLookup.of(User.UserRole.class);
+
+    public static final ResultSetMapper<Student> STUDENT = ResultSetMapper.builder(Student::new)
+        .column("student_id", (s, rs, i) -> s.setStudentId(rs.getInt(i)))
+        .column("user_id", (s, rs, i) -> s.setUserId(rs.getInt(i)))
+        .column("student_number", (s, rs, i) -> s.setStudentNumber(rs.getString(i)))
+        .column("date_of_birth", (s, rs, i) -> {
+            Date dob = rs.getDate(i);
+            if (dob != null) {
+                s.setDateOfBirth(dob.toLocalDate());
+            }
+        })
+        .column("gender", (s, rs, i) -> s.setGender(GENDERS.get(rs.getString(i))))
+        .column("address", (s, rs, i) -> s.setAddress(rs.getString(i)))
+        .column("phone_number", (s, rs, i) -> s.setPhoneNumber(rs.getString(i)))
+        .column("parent_contact", (s, rs, i) -> s.setParentContact(rs.getString(i)))
+        .column("enrollment_date", (s, rs, i) -> {
+            Date enrollmentDate = rs.getDate(i);
+            if (enrollmentDate != null) {
+                s.setEnrollmentDate(enrollmentDate.toLocalDate());
+            }
+        })
+        .column("graduation_date", (s, rs, i) -> {
+            Date graduationDate = rs.getDate(i);
+            if (graduationDate != null) {
+                s.setGraduationDate(graduationDate.toLocalDate());
+            }
+        })
+        .column("is_active", (s, rs, i) -> s.setActive(rs.getBoolean(i)))
+        // Alias used when joined with users, whose is_active would otherwise clash; select it after u.is_active
+        .column("student_active", (s, rs, i) -> s.setActive(rs.getBoolean(i)))
+        .column("created_at", (s, rs, i) -> {
+            Timestamp createdAt = rs.getTimestamp(i);
+            if (createdAt != null) {
+                s.setCreatedAt(createdAt.toLocalDateTime());
+            }
+        })
+        .column("updated_at", (s, rs, i) -> {
+            Timestamp updatedAt = rs.getTimestamp(i);
+            if (updatedAt != null) {
+                s.setUpdatedAt(updatedAt.toLocalDateTime());
+            }
+        })
+        // User information (joined from users table)
+        .column("username", (s, rs, i) -> s.setUsername(rs.getString(i)))
+        .column("email", (s, rs, i) -> s.setEmail(rs.getString(i)))
+        .column("first_name", (s, rs, i) -> s.setFirstName(rs.getString(i)))
+        .column("last_name", (s, rs, i) -> s.setLastName(rs.getString(i)))
+        .build();
+
+    public static final ResultSetMapper<StudentSummary> STUDENT_SUMMARY = ResultSetMapper.builder(StudentSummary::new)
+        .column("student_id", (s, rs, i) -> s.setStudentId(rs.getInt(i)))
+        .column("student_number", (s, rs, i) -> s.setStudentNumber(rs.getString(i)))
+        .column("first_name", (s, rs, i) -> s.setFirstName(rs.getString(i)))
+        .column("last_name", (s, rs, i) -> s.setLastName(rs.getString(i)))
+        .column("email", (s, rs, i) -> s.setEmail(rs.getString(i)))
+        .column("phone_number", (s, rs, i) -> s.setPhoneNumber(rs.getString(i)))
+        .column("gender", (s, rs, i) -> s.setGender(GENDERS.get(rs.getString(i))))
+        .column("date_of_birth", (s, rs, i) -> {
+            Date dob = rs.getDate(i);
+            if (dob != null) {
+                s.setDateOfBirth(dob.toLocalDate());
+            }
+        })
+        .column("is_active", (s, rs, i) -> s.setActive(rs.getBoolean(i)))
+        .build();
+
+    public static final ResultSetMapper<User> USER = ResultSetMapper.builder(User::new)
+        .column("user_id", (u, rs, i) -> u.setUserId(rs.getInt(i)))
+        .column("username", (u, rs, i) -> u.setUsername(rs.getString(i)))
+        .column("password_hash", (u, rs, i) -> u.setPasswordHash(rs.getString(i)))
+        .column("email", (u, rs, i) -> u.setEmail(rs.getString(i)))
+        .column("first_name", (u, rs, i) -> u.setFirstName(rs.getString(i)))
+        .column("last_name", (u, rs, i) -> u.setLastName(rs.getString(i)))
+        .column("role", (u, rs, i) -> u.setRole(ROLES.get(rs.getString(i))))
+        .column("is_active", (u, rs, i) -> u.setActive(rs.getBoolean(i)))
+        .column("created_at", (u, rs, i) -> {
+            Timestamp createdAt = rs.getTimestamp(i);
+            if (createdAt != null) {
+                u.setCreatedAt(createdAt.toLocalDateTime());
+            }
+        })
+        .column("updated_at", (u, rs, i) -> {
+            Timestamp updatedAt = rs.getTimestamp(i);
+            if (updatedAt != null) {
+                u.setUpdatedAt(updatedAt.toLocalDateTime());
+            }
+        })
+        .build();
+
+    public static final ResultSetMapper<Teacher> TEACHER = ResultSetMapper.builder(Teacher::new)
+        .column("teacher_id", (t, rs, i) -> t.setTeacherId(rs.getInt(i)))
+        .column("user_id", (t, rs, i) -> t.setUserId(rs.getInt(i)))
+        .column("employee_number", (t, rs, i) -> t.setEmployeeNumber(rs.getString(i)))
+        .column("department", (t, rs, i) -> t.setDepartment(rs.getString(i)))
+        .column("specialization", (t, rs, i) -> t.setSpecialization(rs.getString(i)))
+        .column("hire_date", (t, rs, i) -> {
+            Date hireDate = rs.getDate(i);
+            if (hireDate != null) {
+                t.setHireDate(hireDate.toLocalDate());
+            }
+        })
+        .column("salary", (t, rs, i) -> t.setSalary(rs.getBigDecimal(i)))
+        .column("is_active", (t, rs, i) -> t.setActive(rs.getBoolean(i)))
+        // Alias used when joined with users, whose is_active would otherwise clash; select it after u.is_active
+        .column("teacher_active", (t, rs, i) -> t.setActive(rs.getBoolean(i)))
+        .build();
+
+    private RowMappers() {
+    }
+}
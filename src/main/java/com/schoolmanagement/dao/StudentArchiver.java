@@ -0,0 +1,240 @@
+package com.schoolmanagement.dao;
+
+import com.schoolmanagement.config.AppConfig;
+import com.schoolmanagement.config.DatabaseConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves soft-deleted students and their dependent rows into the *_archive tables.
+ * Work is done in small chunks, each in its own short transaction that locks only the
+ * chunk's rows by primary key, with a pause between chunks to leave room for live traffic.
+ * The job is resumable: archived rows are removed from the live tables, so a stopped or
+ * failed run simply continues with whatever is still inactive on the next run. A chunk is
+ * committed only if every row it deletes was copied; anything else rolls the chunk back.
+ */
+public class StudentArchiver {
+    private static final Logger logger = LoggerFactory.getLogger(StudentArchiver.class);
+
+    private static final String SELECT_CANDIDATES =
+        "SELECT student_id FROM students WHERE is_active = false AND student_id > ? " +
+        "ORDER BY student_id LIMIT ?";
+
+    // Dependent tables first (they reference students), each with its full column list
+    private static final String[][] DEPENDENT_TABLES = {
+        {"student_classes", "enrollment_id, student_id, class_id, enrollment_date, status"},
+        {"grades", "grade_id, student_id, subject_id, class_id, exam_type, marks_obtained, total_marks, " +
+                   "grade_letter, semester, academic_year, created_at"},
+        {"attendance", "attendance_id, student_id, class_id, attendance_date, status, remarks"},
+        {"fees", "fee_id, student_id, fee_type, amount, due_date, paid_date, payment_method, status, remarks"}
+    };
+
+    private static final String STUDENT_COLUMNS =
+        "student_id, user_id, student_number, date_of_birth, gender, address, phone_number, " +
+        "parent_contact, enrollment_date, graduation_date, is_active";
+
+    private final int chunkSize;
+    private final long pauseMillis;
+    private volatile boolean stopRequested;
+
+    public StudentArchiver() {
+        this(AppConfig.getIntProperty("archive.chunk.size", 100),
+             AppConfig.getIntProperty("archive.pause.ms", 200));
+    }
+
+    public StudentArchiver(int chunkSize, long pauseMillis) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    /**
+     * Archive all currently inactive students
+     * @return number of students archived
+     * @throws SQLException if a query or chunk failed; chunks committed before it stay archived
+     */
+    public int archiveAll() throws SQLException {
+        return archiveAfter(0);
+    }
+
+    /**
+     * Archive inactive students with a student_id greater than a cursor
+     * @param afterStudentId resume point; 0 to start from the beginning
+     * @return number of students archived
+     * @throws SQLException if a query or chunk failed; chunks committed before it stay archived
+     */
+    public int archiveAfter(int afterStudentId) throws SQLException {
+        stopRequested = false;
+        int cursor = afterStudentId;
+        int archived = 0;
+
+        try {
+            while (!stopRequested) {
+                List<Integer> candidates = findCandidates(cursor);
+                if (candidates.isEmpty()) {
+                    break;
+                }
+
+                archived += archiveChunk(candidates);
+                cursor = candidates.get(candidates.size() - 1);
+
+                if (pauseMillis > 0) {
+                    try {
+                        Thread.sleep(pauseMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Archival stopped after {} students at student_id {}; rerun to resume: {}",
+                    archived, cursor, e.getMessage(), e);
+            throw e;
+        } finally {
+            if (archived > 0) {
+                StudentDAO.getCache().invalidateAll();
+            }
+        }
+
+        logger.info("Archived {} inactive students (last student_id {})", archived, cursor);
+        return archived;
+    }
+
+    /**
+     * Ask a running archival to stop after the current chunk
+     */
+    public void requestStop() {
+        stopRequested = true;
+    }
+
+    private List<Integer> findCandidates(int afterStudentId) throws SQLException {
+        List<Integer> ids = new ArrayList<>(chunkSize);
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_CANDIDATES)) {
+
+            stmt.setInt(1, afterStudentId);
+            stmt.setInt(2, chunkSize);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Move one chunk in a single transaction
+     * @return number of students moved
+     * @throws SQLException if the chunk failed; it has been rolled back
+     */
+    private int archiveChunk(List<Integer> candidates) throws SQLException {
+        Connection conn = null;
+        try {
+            conn = DatabaseConfig.getConnection();
+            conn.setAutoCommit(false);
+
+            // Lock the chunk by primary key and drop anything reactivated since it was selected
+            List<Integer> ids = new ArrayList<>(candidates.size());
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT student_id FROM students WHERE is_active = false AND student_id IN (" +
+                    placeholders(candidates.size()) + ") FOR UPDATE")) {
+                bindIds(stmt, candidates);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getInt(1));
+                    }
+                }
+            }
+            if (ids.isEmpty()) {
+                conn.commit();
+                return 0;
+            }
+
+            String in = placeholders(ids.size());
+            for (String[] table : DEPENDENT_TABLES) {
+                moveRows(conn, table[0], table[1], "student_id IN (" + in + ")", ids);
+            }
+            int moved = moveRows(conn, "students", STUDENT_COLUMNS, "student_id IN (" + in + ")", ids);
+
+            conn.commit();
+            DatabaseConfig.recordWrite();
+            ids.forEach(OfflineStore.getInstance()::evictStudent);
+            logger.debug("Archived chunk of {} students ending at {}", moved, ids.get(ids.size() - 1));
+            return moved;
+
+        } catch (SQLException e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    logger.error("Error rolling back transaction: {}", ex.getMessage(), ex);
+                }
+            }
+            throw e;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException e) {
+                    logger.error("Error closing connection: {}", e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private int moveRows(Connection conn, String table, String columns, String where, List<Integer> ids) throws SQLException {
+        // A plain INSERT: a duplicate archive key or bad value fails the chunk instead of losing the row
+        try (PreparedStatement copy = conn.prepareStatement(
+                "INSERT INTO " + table + "_archive (" + columns + ") " +
+                "SELECT " + columns + " FROM " + table + " WHERE " + where);
+             PreparedStatement delete = conn.prepareStatement(
+                "DELETE FROM " + table + " WHERE " + where)) {
+            bindIds(copy, ids);
+            int copied = copy.executeUpdate();
+            bindIds(delete, ids);
+            int deleted = delete.executeUpdate();
+            if (deleted != copied) {
+                throw new SQLException("Copied " + copied + " rows to " + table + "_archive but deleted " + deleted);
+            }
+            return deleted;
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static void bindIds(PreparedStatement stmt, List<Integer> ids) throws SQLException {
+        for (int i = 0; i < ids.size(); i++) {
+            stmt.setInt(i + 1, ids.get(i));
+        }
+    }
+
+    public static void main(String[] args) {
+        boolean failed = false;
+        try {
+            int archived = new StudentArchiver().archiveAll();
+            logger.info("Archival finished: {} students archived", archived);
+        } catch (SQLException e) {
+            logger.error("Archival failed: {}", e.getMessage());
+            failed = true;
+        }
+        DatabaseConfig.closeDataSource();
+        if (failed) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.schoolmanagement.dao;
+
+import com.schoolmanagement.model.Student;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded, thread-safe LRU cache of students keyed by student_id, with a secondary
+ * index on student_number. Entries are stored and returned as defensive copies, so
+ * callers may freely modify what they get back. Entries older than the time-to-live
+ * are treated as misses, which bounds how long a change made by another client can
+ * go unseen.
+ * <p>
+ * A load that raced with an invalidation of the same student is not cached. Invalidations
+ * are stamped per key, in a fixed table of stripes hashed from the id or student number,
+ * so a write to one student does not discard the loads of the others.
+ */
+public class StudentCache {
+    private static final int STRIPES = 4096;
+
+    private final int maxSize;
+    private final long ttlNanos;
+    // Access-ordered, so the eldest entry is the least recently used; guarded by this
+    private final LinkedHashMap<Integer, Entry> byId;
+    private final Map<String, Integer> idByStudentNumber = new HashMap<>();
+
+    // Invalidation sequence: the latest value per stripe, and the latest invalidateAll
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLongArray invalidatedAt = new AtomicLongArray(STRIPES);
+    private volatile long allInvalidatedAt;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public StudentCache(int maxSize) {
+        this(maxSize, 0);
+    }
+
+    /**
+     * @param maxSize maximum number of cached students
+     * @param ttlSeconds how long an entry is served after it was loaded; 0 for no limit
+     */
+    public StudentCache(int maxSize, long ttlSeconds) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        if (ttlSeconds < 0) {
+            throw new IllegalArgumentException("Cache time-to-live must not be negative");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.byId = new LinkedHashMap<Integer, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                if (size() <= StudentCache.this.maxSize) {
+                    return false;
+                }
+                unindex(eldest.getKey(), eldest.getValue());
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Look up a student by student_id
+     * @param studentId the student ID
+     * @return a copy of the cached student, or empty on a miss or an expired entry
+     */
+    public synchronized Optional<Student> getById(int studentId) {
+        return record(studentId, byId.get(studentId));
+    }
+
+    /**
+     * Look up a student by student number
+     * @param studentNumber the student number
+     * @return a copy of the cached student, or empty on a miss or an expired entry
+     */
+    public synchronized Optional<Student> getByStudentNumber(String studentNumber) {
+        Integer studentId = idByStudentNumber.get(studentNumber);
+        return record(studentId, studentId != null ? byId.get(studentId) : null);
+    }
+
+    /**
+     * Take a stamp before loading from the database; pass it to {@link #put}
+     * @return the current invalidation sequence
+     */
+    public long stamp() {
+        return clock.get();
+    }
+
+    /**
+     * Cache a freshly loaded student, unless its id or student number was invalidated
+     * since the stamp was taken
+     * @param student the loaded student
+     * @param stamp the value of {@link #stamp()} taken before the load started
+     */
+    public synchronized void put(Student student, long stamp) {
+        int studentId = student.getStudentId();
+        String studentNumber = student.getStudentNumber();
+        if (allInvalidatedAt > stamp || invalidatedAt.get(stripe(studentId)) > stamp
+                || (studentNumber != null && invalidatedAt.get(stripe(studentNumber)) > stamp)) {
+            return;
+        }
+
+        Entry previous = byId.put(studentId, new Entry(new Student(student), System.nanoTime()));
+        if (previous != null) {
+            unindex(studentId, previous);
+        }
+        if (studentNumber != null) {
+            idByStudentNumber.put(studentNumber, studentId);
+        }
+    }
+
+    /**
+     * Drop the entry for a student_id, if any
+     * @param studentId the student ID
+     */
+    public synchronized void invalidate(int studentId) {
+        invalidatedAt.set(stripe(studentId), clock.incrementAndGet());
+        remove(studentId);
+    }
+
+    /**
+     * Drop the entry for a student number, if any
+     * @param studentNumber the student number
+     */
+    public synchronized void invalidateStudentNumber(String studentNumber) {
+        if (studentNumber == null) {
+            return;
+        }
+        invalidatedAt.set(stripe(studentNumber), clock.incrementAndGet());
+        Integer studentId = idByStudentNumber.get(studentNumber);
+        if (studentId != null) {
+            remove(studentId);
+        }
+    }
+
+    /**
+     * Drop every entry
+     */
+    public synchronized void invalidateAll() {
+        allInvalidatedAt = clock.incrementAndGet();
+        byId.clear();
+        idByStudentNumber.clear();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getTtlSeconds() {
+        return TimeUnit.NANOSECONDS.toSeconds(ttlNanos);
+    }
+
+    // Caller holds the monitor
+    private Optional<Student> record(Integer studentId, Entry cached) {
+        if (cached != null && ttlNanos > 0 && System.nanoTime() - cached.loadedAt > ttlNanos) {
+            remove(studentId);
+            cached = null;
+        }
+        if (cached == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(new Student(cached.student));
+    }
+
+    // Caller holds the monitor
+    private void remove(int studentId) {
+        Entry removed = byId.remove(studentId);
+        if (removed != null) {
+            unindex(studentId, removed);
+        }
+    }
+
+    // Caller holds the monitor
+    private void unindex(int studentId, Entry entry) {
+        String studentNumber = entry.student.getStudentNumber();
+        if (studentNumber != null) {
+            idByStudentNumber.remove(studentNumber, studentId);
+        }
+    }
+
+    private static int stripe(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    private static final class Entry {
+        final Student student;
+        final long loadedAt;
+
+        Entry(Student student, long loadedAt) {
+            this.student = student;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StudentCache{size=%d/%d, ttl=%ds, hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d}",
+                size(), maxSize, getTtlSeconds(), getHitCount(), getMissCount(), getHitRate() * 100, getEvictionCount());
+    }
+}
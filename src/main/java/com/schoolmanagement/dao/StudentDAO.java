@@ -1,8 +1,12 @@
 package com.schoolmanagement.dao;
 
+import com.schoolmanagement.config.AppConfig;
 import com.schoolmanagement.config.DatabaseConfig;
 import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.StudentEnrollment;
+import com.schoolmanagement.model.StudentSummary;
 import com.schoolmanagement.util.PasswordUtil;
+import com.schoolmanagement.util.Validators;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,8 +14,17 @@ import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Data Access Object for Student operations
@@ -34,6 +47,51 @@ public class StudentDAO {
         "FROM students s JOIN users u ON s.user_id = u.user_id " +
         "WHERE s.is_active = true ORDER BY s.student_id DESC";
     
+    // Keyset pagination: seek past the cursor on the primary key instead of using OFFSET
+    private static final String SELECT_STUDENTS_PAGE_DESC = 
+        "SELECT s.*, u.username, u.email, u.first_name, u.last_name " +
+        "FROM students s JOIN users u ON s.user_id = u.user_id " +
+        "WHERE s.is_active = true AND s.student_id < ? ORDER BY s.student_id DESC LIMIT ?";
+    
+    private static final String SELECT_STUDENTS_PAGE_ASC = 
+        "SELECT s.*, u.username, u.email, u.first_name, u.last_name " +
+        "FROM students s JOIN users u ON s.user_id = u.user_id " +
+        "WHERE s.is_active = true AND s.student_id > ? ORDER BY s.student_id ASC LIMIT ?";
+    
+    // Grid projection: only the columns the student table displays (no s.*, no address TEXT)
+    private static final String SELECT_STUDENT_SUMMARIES_PAGE_DESC = 
+        "SELECT s.student_id, s.student_number, u.first_name, u.last_name, u.email, " +
+        "s.phone_number, s.gender, s.date_of_birth, s.is_active " +
+        "FROM students s JOIN users u ON s.user_id = u.user_id " +
+        "WHERE s.is_active = true AND s.student_id < ? ORDER BY s.student_id DESC LIMIT ?";
+    
+    private static final String SELECT_STUDENT_SUMMARIES_PAGE_ASC = 
+        "SELECT s.student_id, s.student_number, u.first_name, u.last_name, u.email, " +
+        "s.phone_number, s.gender, s.date_of_birth, s.is_active " +
+        "FROM students s JOIN users u ON s.user_id = u.user_id " +
+        "WHERE s.is_active = true AND s.student_id > ? ORDER BY s.student_id ASC LIMIT ?";
+    
+    public static final int MAX_PAGE_SIZE = 1000;
+    
+    // Shared by all StudentDAO instances so every screen benefits from the same entries
+    private static final StudentCache cache =
+        new StudentCache(AppConfig.getIntProperty("cache.students.maxsize", 1000),
+                         AppConfig.getIntProperty("cache.students.ttl.seconds", 300));
+    
+    // Counts served from memory; seeded on first use and reconciled in the background
+    private static final StudentStatistics statistics = new StudentStatistics();
+    // Other clients write directly to the database; counts are reloaded this often, and in the
+    // background when a read finds them older than this
+    private static final long STATISTICS_MAX_AGE_MILLIS =
+        AppConfig.getIntProperty("statistics.max.age.seconds", 60) * 1000L;
+    
+    // Rows per transaction for bulk enrollment; each chunk is sent as one rewritten multi-row insert
+    private static final int DEFAULT_BATCH_SIZE = AppConfig.getIntProperty("database.batch.size", 500);
+    
+    // Rows fetched per round trip when streaming; configured as -2147483648 (Integer.MIN_VALUE) it
+    // switches to row-by-row streaming, which needs database.driver.useCursorFetch=false
+    private static final int DEFAULT_FETCH_SIZE = AppConfig.getIntProperty("database.stream.fetchsize", 500);
+    
     private static final String SELECT_STUDENT_BY_ID = 
         "SELECT s.*, u.username, u.email, u.first_name, u.last_name " +
         "FROM students s JOIN users u ON s.user_id = u.user_id " +
@@ -44,6 +102,17 @@ public class StudentDAO {
         "FROM students s JOIN users u ON s.user_id = u.user_id " +
         "WHERE s.student_number = ? AND s.is_active = true";
     
+    // Archived students (see StudentArchiver); the user row stays in users
+    private static final String SELECT_ARCHIVED_STUDENT_BY_ID = 
+        "SELECT s.*, u.username, u.email, u.first_name, u.last_name " +
+        "FROM students_archive s LEFT JOIN users u ON s.user_id = u.user_id " +
+        "WHERE s.student_id = ?";
+    
+    private static final String SELECT_ARCHIVED_STUDENT_BY_STUDENT_NUMBER = 
+        "SELECT s.*, u.username, u.email, u.first_name, u.last_name " +
+        "FROM students_archive s LEFT JOIN users u ON s.user_id = u.user_id " +
+        "WHERE s.student_number = ? ORDER BY s.archived_at DESC LIMIT 1";
+    
     private static final String UPDATE_STUDENT = 
         "UPDATE students SET student_number = ?, date_of_birth = ?, gender = ?, " +
         "address = ?, phone_number = ?, parent_contact = ?, graduation_date = ? " +
@@ -54,7 +123,31 @@ public class StudentDAO {
         "WHERE user_id = (SELECT user_id FROM students WHERE student_id = ?)";
     
     private static final String DELETE_STUDENT = 
-        "UPDATE students SET is_active = false WHERE student_id = ?";
+        "UPDATE students SET is_active = false WHERE student_id = ? AND is_active = true";
+    
+    // Cohort operations: enrollment year as a sargable date range so idx_students_enrollment_date applies
+    private static final String UPDATE_GRADUATION_BY_ENROLLMENT = 
+        "UPDATE students SET graduation_date = ? " +
+        "WHERE is_active = true AND enrollment_date >= ? AND enrollment_date < ?";
+    
+    private static final String DEACTIVATE_BY_ENROLLMENT = 
+        "UPDATE students SET is_active = false " +
+        "WHERE is_active = true AND enrollment_date >= ? AND enrollment_date < ?";
+    
+    private static final String UPDATE_GRADUATION_BY_ID = 
+        "UPDATE students SET graduation_date = ? WHERE student_id = ? AND is_active = true";
+    
+    private static final String DEACTIVATE_BY_ID = 
+        "UPDATE students SET is_active = false WHERE student_id = ? AND is_active = true";
+    
+    // Enrollment dates of the students a deactivation is about to change, locked until it commits,
+    // so exactly those removals are recorded in the statistics
+    private static final String LOCK_ACTIVE_BY_ENROLLMENT = 
+        "SELECT enrollment_date FROM students " +
+        "WHERE is_active = true AND enrollment_date >= ? AND enrollment_date < ? FOR UPDATE";
+    
+    private static final String LOCK_ACTIVE_BY_IDS = 
+        "SELECT enrollment_date FROM students WHERE is_active = true AND student_id IN (%s) FOR UPDATE";
     
     private static final String COUNT_STUDENTS = 
         "SELECT COUNT(*) FROM students WHERE is_active = true";
@@ -71,6 +164,7 @@ public class StudentDAO {
         PreparedStatement studentStmt = null;
         ResultSet generatedKeys = null;
         
+        statistics.beginWrite();
         try {
             conn = DatabaseConfig.getConnection();
             conn.setAutoCommit(false);
@@ -118,6 +212,10 @@ public class StudentDAO {
             }
             
             conn.commit();
+            DatabaseConfig.recordWrite();
+            cache.invalidateStudentNumber(student.getStudentNumber());
+            recordEnrollment(student);
+            UserKeyFilter.recordUser(username, email);
             logger.info("Student created successfully: {}", student.getStudentNumber());
             return true;
             
@@ -132,6 +230,7 @@ public class StudentDAO {
             }
             return false;
         } finally {
+            statistics.endWrite();
             // Close resources
             if (generatedKeys != null) {
                 try {
@@ -165,42 +264,414 @@ public class StudentDAO {
         }
     }
     
+    /**
+     * Enroll many students at once using the default chunk size
+     * @see #createStudents(List, int)
+     */
+    public BatchResult createStudents(List<StudentEnrollment> enrollments) {
+        return createStudents(enrollments, DEFAULT_BATCH_SIZE);
+    }
+    
+    /**
+     * Enroll many students at once. Passwords are hashed on the password hashing pool, users and
+     * students are inserted with JDBC batches and committed every chunkSize rows. If a chunk fails it is
+     * rolled back and retried row by row, so one bad row does not abort the rest of the batch.
+     * @param enrollments the students and their account credentials
+     * @param chunkSize number of rows per transaction
+     * @return per-row results in input order; generated ids are the new student_id values
+     */
+    public BatchResult createStudents(List<StudentEnrollment> enrollments, int chunkSize) {
+        BatchInserter<StudentEnrollment> inserter = new BatchInserter<StudentEnrollment>("enrollment") {
+            @Override
+            protected String validate(StudentEnrollment enrollment) {
+                return validateEnrollment(enrollment);
+            }
+            
+            @Override
+            protected String getPassword(StudentEnrollment enrollment) {
+                return enrollment.getPassword();
+            }
+            
+            @Override
+            protected int[] insertChunk(Connection conn, List<StudentEnrollment> rows, String[] hashes) throws SQLException {
+                return insertEnrollmentChunk(conn, rows, hashes);
+            }
+            
+            @Override
+            protected int insertRow(Connection conn, StudentEnrollment enrollment, String hash) throws SQLException {
+                return insertEnrollmentRow(conn, enrollment, hash);
+            }
+            
+            @Override
+            protected void beginTransaction() {
+                statistics.beginWrite();
+            }
+            
+            @Override
+            protected void afterCommit(StudentEnrollment enrollment) {
+                cache.invalidateStudentNumber(enrollment.getStudent().getStudentNumber());
+                recordEnrollment(enrollment.getStudent());
+                UserKeyFilter.recordUser(enrollment.getUsername(), enrollment.getEmail());
+            }
+            
+            @Override
+            protected void endTransaction() {
+                statistics.endWrite();
+            }
+            
+            @Override
+            protected String describe(StudentEnrollment enrollment) {
+                return enrollment.getUsername();
+            }
+        };
+        
+        return inserter.run(enrollments, chunkSize);
+    }
+    
+    private String validateEnrollment(StudentEnrollment enrollment) {
+        if (enrollment == null || enrollment.getStudent() == null) {
+            return "Student is required";
+        }
+        // The student form's rules, plus a password: bulk enrollment has nobody to generate one for
+        List<String> errors = Validators.STUDENT_ENROLLMENT.validate(enrollment).getMessages();
+        if (Validators.isBlank(enrollment.getPassword())) {
+            errors.add("Password is required");
+        }
+        return errors.isEmpty() ? null : String.join("; ", errors);
+    }
+    
+    /**
+     * Insert one chunk as two batches (users, then students) on the caller's transaction
+     * @return the generated student ids, in chunk order
+     */
+    private int[] insertEnrollmentChunk(Connection conn, List<StudentEnrollment> rows, String[] hashes) throws SQLException {
+        int[] studentIds = new int[rows.size()];
+        
+        try (PreparedStatement userStmt = conn.prepareStatement(INSERT_USER, Statement.RETURN_GENERATED_KEYS)) {
+            for (int j = 0; j < rows.size(); j++) {
+                bindUser(userStmt, rows.get(j), hashes[j]);
+                userStmt.addBatch();
+            }
+            userStmt.executeBatch();
+            
+            // With rewriteBatchedStatements the driver returns one key per row of the multi-row insert
+            try (ResultSet keys = userStmt.getGeneratedKeys()) {
+                int j = 0;
+                while (keys.next() && j < rows.size()) {
+                    rows.get(j++).getStudent().setUserId(keys.getInt(1));
+                }
+                if (j != rows.size()) {
+                    throw new SQLException("Expected " + rows.size() + " generated user ids but got " + j);
+                }
+            }
+        }
+        
+        try (PreparedStatement studentStmt = conn.prepareStatement(INSERT_STUDENT, Statement.RETURN_GENERATED_KEYS)) {
+            for (StudentEnrollment enrollment : rows) {
+                bindStudent(studentStmt, enrollment.getStudent());
+                studentStmt.addBatch();
+            }
+            studentStmt.executeBatch();
+            
+            try (ResultSet keys = studentStmt.getGeneratedKeys()) {
+                int j = 0;
+                while (keys.next() && j < rows.size()) {
+                    studentIds[j] = keys.getInt(1);
+                    rows.get(j).getStudent().setStudentId(studentIds[j]);
+                    j++;
+                }
+                if (j != rows.size()) {
+                    throw new SQLException("Expected " + rows.size() + " generated student ids but got " + j);
+                }
+            }
+        }
+        
+        return studentIds;
+    }
+    
+    /**
+     * Insert a single enrollment on the caller's transaction, used when a batched chunk fails
+     * @return the generated student id
+     */
+    private int insertEnrollmentRow(Connection conn, StudentEnrollment enrollment, String hash) throws SQLException {
+        Student student = enrollment.getStudent();
+        try (PreparedStatement userStmt = conn.prepareStatement(INSERT_USER, Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement studentStmt = conn.prepareStatement(INSERT_STUDENT, Statement.RETURN_GENERATED_KEYS)) {
+            
+            bindUser(userStmt, enrollment, hash);
+            userStmt.executeUpdate();
+            try (ResultSet keys = userStmt.getGeneratedKeys()) {
+                if (!keys.next()) {
+                    throw new SQLException("No generated user id");
+                }
+                student.setUserId(keys.getInt(1));
+            }
+            
+            bindStudent(studentStmt, student);
+            studentStmt.executeUpdate();
+            try (ResultSet keys = studentStmt.getGeneratedKeys()) {
+                if (!keys.next()) {
+                    throw new SQLException("No generated student id");
+                }
+                student.setStudentId(keys.getInt(1));
+            }
+        }
+        return student.getStudentId();
+    }
+    
+    private void bindUser(PreparedStatement userStmt, StudentEnrollment enrollment, String passwordHash) throws SQLException {
+        userStmt.setString(1, enrollment.getUsername());
+        userStmt.setString(2, passwordHash);
+        userStmt.setString(3, enrollment.getEmail());
+        userStmt.setString(4, enrollment.getStudent().getFirstName());
+        userStmt.setString(5, enrollment.getStudent().getLastName());
+    }
+    
+    private void bindStudent(PreparedStatement studentStmt, Student student) throws SQLException {
+        studentStmt.setInt(1, student.getUserId());
+        studentStmt.setString(2, student.getStudentNumber());
+        studentStmt.setDate(3, student.getDateOfBirth() != null ? Date.valueOf(student.getDateOfBirth()) : null);
+        studentStmt.setString(4, student.getGender() != null ? student.getGender().name() : null);
+        studentStmt.setString(5, student.getAddress());
+        studentStmt.setString(6, student.getPhoneNumber());
+        studentStmt.setString(7, student.getParentContact());
+        studentStmt.setDate(8, student.getEnrollmentDate() != null ? Date.valueOf(student.getEnrollmentDate()) : Date.valueOf(LocalDate.now()));
+        studentStmt.setDate(9, student.getGraduationDate() != null ? Date.valueOf(student.getGraduationDate()) : null);
+        studentStmt.setBoolean(10, student.isActive());
+    }
+    
     /**
      * Get all active students
      */
     public List<Student> getAllStudents() {
+        OfflineStore offline = OfflineStore.getInstance();
+        if (offline.isOffline()) {
+            return offline.getStudentsPage(null, Integer.MAX_VALUE, true);
+        }
+        
         List<Student> students = new ArrayList<>();
         
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_STUDENTS);
              ResultSet rs = stmt.executeQuery()) {
             
+            RowMapper<Student> mapper = RowMappers.STUDENT.forQuery(SELECT_ALL_STUDENTS, rs);
             while (rs.next()) {
-                students.add(mapResultSetToStudent(rs));
+                students.add(mapper.mapRow(rs));
             }
             
         } catch (SQLException e) {
+            if (offline.fallBack(e)) {
+                return offline.getStudentsPage(null, Integer.MAX_VALUE, true);
+            }
             logger.error("Error getting all students: {}", e.getMessage(), e);
+            return students;
+        }
+        
+        // After the connection is back in the pool; only the newest offline.cache.maxsize rows fit anyway
+        offline.cacheStudents(students);
+        return students;
+    }
+    
+    /**
+     * Get one page of active students using keyset pagination
+     * @param afterStudentId the last student_id of the previous page, or null for the first page
+     * @param limit maximum number of students to return (1 to MAX_PAGE_SIZE)
+     * @param descending true for newest first (same order as getAllStudents), false for oldest first
+     * @return the students on this page; an empty list means there are no more pages
+     */
+    public List<Student> getStudentsPage(Integer afterStudentId, int limit, boolean descending) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        
+        OfflineStore offline = OfflineStore.getInstance();
+        if (offline.isOffline()) {
+            return offline.getStudentsPage(afterStudentId, limit, descending);
+        }
+        
+        int cursor = afterStudentId != null ? afterStudentId : (descending ? Integer.MAX_VALUE : 0);
+        String sql = descending ? SELECT_STUDENTS_PAGE_DESC : SELECT_STUDENTS_PAGE_ASC;
+        List<Student> students = new ArrayList<>(limit);
+        
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, cursor);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<Student> mapper = RowMappers.STUDENT.forQuery(sql, rs);
+                while (rs.next()) {
+                    students.add(mapper.mapRow(rs));
+                }
+            }
+            
+        } catch (SQLException e) {
+            if (offline.fallBack(e)) {
+                return offline.getStudentsPage(afterStudentId, limit, descending);
+            }
+            logger.error("Error getting students page after {}: {}", afterStudentId, e.getMessage(), e);
+            return students;
         }
         
+        offline.cacheStudents(students);
         return students;
     }
     
+    /**
+     * Get one page of student grid rows using keyset pagination.
+     * Selects only the displayed columns, so it is much cheaper per row than getStudentsPage.
+     * @param afterStudentId the last student_id of the previous page, or null for the first page
+     * @param limit maximum number of rows to return (1 to MAX_PAGE_SIZE)
+     * @param descending true for newest first, false for oldest first
+     * @return the rows on this page; an empty list means there are no more pages
+     */
+    public List<StudentSummary> getStudentSummariesPage(Integer afterStudentId, int limit, boolean descending) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        
+        OfflineStore offline = OfflineStore.getInstance();
+        if (offline.isOffline()) {
+            return offline.getStudentSummariesPage(afterStudentId, limit, descending);
+        }
+        
+        int cursor = afterStudentId != null ? afterStudentId : (descending ? Integer.MAX_VALUE : 0);
+        String sql = descending ? SELECT_STUDENT_SUMMARIES_PAGE_DESC : SELECT_STUDENT_SUMMARIES_PAGE_ASC;
+        List<StudentSummary> summaries = new ArrayList<>(limit);
+        
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, cursor);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<StudentSummary> mapper = RowMappers.STUDENT_SUMMARY.forQuery(sql, rs);
+                while (rs.next()) {
+                    summaries.add(mapper.mapRow(rs));
+                }
+            }
+            offline.cacheSummaries(summaries);
+            
+        } catch (SQLException e) {
+            if (offline.fallBack(e)) {
+                return offline.getStudentSummariesPage(afterStudentId, limit, descending);
+            }
+            logger.error("Error getting student summaries page after {}: {}", afterStudentId, e.getMessage(), e);
+        }
+        
+        return summaries;
+    }
+    
+    /**
+     * Stream all active students without loading them into memory, using the default fetch size
+     * @return a stream that holds a pooled connection until it is closed
+     */
+    public Stream<Student> streamStudents() {
+        return streamStudents(DEFAULT_FETCH_SIZE);
+    }
+    
+    /**
+     * Stream all active students without loading them into memory.
+     * The returned stream holds a pooled connection and must be closed, e.g. with try-with-resources.
+     * @param fetchSize rows per round trip (server-side cursor), or Integer.MIN_VALUE for row-by-row streaming
+     *                  when database.driver.useCursorFetch=false
+     * @return a stream of students
+     * @throws RuntimeException wrapping the SQLException if the query could not be started, or if
+     *         reading fails part way, so an export never mistakes a failure for an empty table
+     */
+    public Stream<Student> streamStudents(int fetchSize) {
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        RowMapper<Student> mapper;
+        
+        try {
+            conn = DatabaseConfig.getReadConnection();
+            stmt = conn.prepareStatement(SELECT_ALL_STUDENTS, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(fetchSize);
+            rs = stmt.executeQuery();
+            mapper = RowMappers.STUDENT.forQuery(SELECT_ALL_STUDENTS, rs);
+        } catch (SQLException e) {
+            closeQuietly(rs, stmt, conn);
+            throw new RuntimeException("Error starting student stream", e);
+        }
+        
+        final Connection streamConn = conn;
+        final PreparedStatement streamStmt = stmt;
+        final ResultSet streamRs = rs;
+        
+        Spliterator<Student> spliterator = new Spliterators.AbstractSpliterator<Student>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Student> action) {
+                try {
+                    if (!streamRs.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.mapRow(streamRs));
+                    return true;
+                } catch (SQLException e) {
+                    // Failing loudly here: a silently truncated export is worse than an aborted one
+                    throw new RuntimeException("Error reading student stream", e);
+                }
+            }
+        };
+        
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> closeQuietly(streamRs, streamStmt, streamConn));
+    }
+    
+    /**
+     * Visit every active student in constant memory
+     * @param visitor callback invoked once per student
+     * @return number of students visited
+     * @throws RuntimeException if the students could not be read
+     */
+    public long forEachStudent(Consumer<? super Student> visitor) {
+        long[] count = {0};
+        try (Stream<Student> students = streamStudents()) {
+            students.forEach(student -> {
+                visitor.accept(student);
+                count[0]++;
+            });
+        }
+        return count[0];
+    }
+    
     /**
      * Get student by ID
      */
     public Optional<Student> getStudentById(int studentId) {
+        Optional<Student> cached = cache.getById(studentId);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        
+        OfflineStore offline = OfflineStore.getInstance();
+        if (offline.isOffline()) {
+            return offline.getStudent(studentId);
+        }
+        
+        // From the primary: a lagging replica row would otherwise stay in the cache
+        long stamp = cache.stamp();
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_STUDENT_BY_ID)) {
             
             stmt.setInt(1, studentId);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToStudent(rs));
+                    Student student = RowMappers.STUDENT.forQuery(SELECT_STUDENT_BY_ID, rs).mapRow(rs);
+                    cache.put(student, stamp);
+                    offline.cacheStudent(student);
+                    return Optional.of(student);
                 }
             }
             
         } catch (SQLException e) {
+            if (offline.fallBack(e)) {
+                return offline.getStudent(studentId);
+            }
             logger.error("Error getting student by ID: {}", e.getMessage(), e);
         }
         
@@ -211,17 +682,35 @@ public class StudentDAO {
      * Get student by student number
      */
     public Optional<Student> getStudentByStudentNumber(String studentNumber) {
+        Optional<Student> cached = cache.getByStudentNumber(studentNumber);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        
+        OfflineStore offline = OfflineStore.getInstance();
+        if (offline.isOffline()) {
+            return offline.getStudentByStudentNumber(studentNumber);
+        }
+        
+        // From the primary: a lagging replica row would otherwise stay in the cache
+        long stamp = cache.stamp();
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_STUDENT_BY_STUDENT_NUMBER)) {
             
             stmt.setString(1, studentNumber);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToStudent(rs));
+                    Student student = RowMappers.STUDENT.forQuery(SELECT_STUDENT_BY_STUDENT_NUMBER, rs).mapRow(rs);
+                    cache.put(student, stamp);
+                    offline.cacheStudent(student);
+                    return Optional.of(student);
                 }
             }
             
         } catch (SQLException e) {
+            if (offline.fallBack(e)) {
+                return offline.getStudentByStudentNumber(studentNumber);
+            }
             logger.error("Error getting student by student number: {}", e.getMessage(), e);
         }
         
@@ -229,19 +718,117 @@ public class StudentDAO {
     }
     
     /**
-     * Update student information
+     * Get student by ID, optionally falling back to the archive
+     * @param studentId the student ID
+     * @param includeArchived true to also look in students_archive when no active student matches
+     * @return the student, if found
+     */
+    public Optional<Student> getStudentById(int studentId, boolean includeArchived) {
+        Optional<Student> student = getStudentById(studentId);
+        if (student.isPresent() || !includeArchived) {
+            return student;
+        }
+        return findArchivedStudent(SELECT_ARCHIVED_STUDENT_BY_ID, stmt -> stmt.setInt(1, studentId));
+    }
+    
+    /**
+     * Get student by student number, optionally falling back to the archive
+     * @param studentNumber the student number
+     * @param includeArchived true to also look in students_archive when no active student matches
+     * @return the student, if found
+     */
+    public Optional<Student> getStudentByStudentNumber(String studentNumber, boolean includeArchived) {
+        Optional<Student> student = getStudentByStudentNumber(studentNumber);
+        if (student.isPresent() || !includeArchived) {
+            return student;
+        }
+        return findArchivedStudent(SELECT_ARCHIVED_STUDENT_BY_STUDENT_NUMBER, stmt -> stmt.setString(1, studentNumber));
+    }
+    
+    private interface StatementBinder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+    
+    private Optional<Student> findArchivedStudent(String sql, StatementBinder binder) {
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            binder.bind(stmt);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(RowMappers.STUDENT.forQuery(sql, rs).mapRow(rs));
+                }
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error getting archived student: {}", e.getMessage(), e);
+        }
+        
+        return Optional.empty();
+    }
+    
+    /**
+     * Update student information.
+     * When the database is unreachable the edit is journaled locally and replayed later.
      */
     public boolean updateStudent(Student student) {
+        OfflineStore offline = OfflineStore.getInstance();
+        if (offline.isOffline()) {
+            cache.invalidate(student.getStudentId());
+            return offline.journalStudentUpdate(student);
+        }
+        
         Connection conn = null;
-        PreparedStatement studentStmt = null;
-        PreparedStatement userStmt = null;
         
         try {
             conn = DatabaseConfig.getConnection();
             conn.setAutoCommit(false);
             
-            // Update student record
-            studentStmt = conn.prepareStatement(UPDATE_STUDENT);
+            // Drop the cached copy before writing so concurrent loads cannot re-cache the old row
+            cache.invalidate(student.getStudentId());
+            
+            if (writeStudentUpdate(conn, student)) {
+                conn.commit();
+                DatabaseConfig.recordWrite();
+                cache.invalidate(student.getStudentId());
+                offline.cacheStudent(student);
+                UserKeyFilter.recordEmail(student.getEmail());
+                logger.info("Student updated successfully: {}", student.getStudentNumber());
+                return true;
+            } else {
+                conn.rollback();
+                return false;
+            }
+            
+        } catch (SQLException e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    logger.error("Error rolling back transaction: {}", ex.getMessage(), ex);
+                }
+            }
+            if (offline.fallBack(e)) {
+                cache.invalidate(student.getStudentId());
+                return offline.journalStudentUpdate(student);
+            }
+            logger.error("Error updating student: {}", e.getMessage(), e);
+            return false;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException e) {
+                    logger.error("Error closing connection: {}", e.getMessage(), e);
+                }
+            }
+        }
+    }
+    
+    private boolean writeStudentUpdate(Connection conn, Student student) throws SQLException {
+        int studentRows;
+        try (PreparedStatement studentStmt = conn.prepareStatement(UPDATE_STUDENT)) {
             studentStmt.setString(1, student.getStudentNumber());
             studentStmt.setDate(2, student.getDateOfBirth() != null ? Date.valueOf(student.getDateOfBirth()) : null);
             studentStmt.setString(3, student.getGender() != null ? student.getGender().name() : null);
@@ -250,29 +837,124 @@ public class StudentDAO {
             studentStmt.setString(6, student.getParentContact());
             studentStmt.setDate(7, student.getGraduationDate() != null ? Date.valueOf(student.getGraduationDate()) : null);
             studentStmt.setInt(8, student.getStudentId());
-            
-            int studentRows = studentStmt.executeUpdate();
-            
-            // Update user information
-            userStmt = conn.prepareStatement(UPDATE_USER_FOR_STUDENT);
+            studentRows = studentStmt.executeUpdate();
+        }
+        
+        int userRows;
+        try (PreparedStatement userStmt = conn.prepareStatement(UPDATE_USER_FOR_STUDENT)) {
             userStmt.setString(1, student.getEmail());
             userStmt.setString(2, student.getFirstName());
             userStmt.setString(3, student.getLastName());
             userStmt.setInt(4, student.getStudentId());
+            userRows = userStmt.executeUpdate();
+        }
+        
+        return studentRows > 0 && userRows > 0;
+    }
+    
+    /**
+     * Replay a student edit journaled while offline. It is applied only if the row still matches
+     * the version the edit was made against; otherwise the server's version is kept.
+     * @param base the student as it was before the offline edit
+     * @param change the edited student
+     * @return the outcome
+     * @throws SQLException if the database could not be updated; nothing is written in that case
+     */
+    OfflineStore.ReplayOutcome replayStudentUpdate(Student base, Student change) throws SQLException {
+        OfflineStore.ReplayOutcome outcome;
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Student current = null;
+                try (PreparedStatement stmt = conn.prepareStatement(SELECT_STUDENT_BY_ID + " FOR UPDATE")) {
+                    stmt.setInt(1, change.getStudentId());
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (rs.next()) {
+                            current = RowMappers.STUDENT.forQuery(SELECT_STUDENT_BY_ID, rs).mapRow(rs);
+                        }
+                    }
+                }
+                
+                if (current == null) {
+                    // Deleted or archived while we were offline
+                    outcome = OfflineStore.ReplayOutcome.CONFLICT;
+                } else if (sameEditableFields(current, change)) {
+                    outcome = OfflineStore.ReplayOutcome.ALREADY_APPLIED;
+                } else if (!sameEditableFields(current, base)) {
+                    outcome = OfflineStore.ReplayOutcome.CONFLICT;
+                } else if (writeStudentUpdate(conn, change)) {
+                    outcome = OfflineStore.ReplayOutcome.APPLIED;
+                } else {
+                    outcome = OfflineStore.ReplayOutcome.CONFLICT;
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        
+        if (outcome == OfflineStore.ReplayOutcome.APPLIED) {
+            DatabaseConfig.recordWrite();
+            UserKeyFilter.recordEmail(change.getEmail());
+        }
+        cache.invalidate(change.getStudentId());
+        return outcome;
+    }
+    
+    // The columns updateStudent writes
+    private static boolean sameEditableFields(Student a, Student b) {
+        return Objects.equals(a.getStudentNumber(), b.getStudentNumber())
+                && Objects.equals(a.getDateOfBirth(), b.getDateOfBirth())
+                && a.getGender() == b.getGender()
+                && Objects.equals(a.getAddress(), b.getAddress())
+                && Objects.equals(a.getPhoneNumber(), b.getPhoneNumber())
+                && Objects.equals(a.getParentContact(), b.getParentContact())
+                && Objects.equals(a.getGraduationDate(), b.getGraduationDate())
+                && Objects.equals(a.getEmail(), b.getEmail())
+                && Objects.equals(a.getFirstName(), b.getFirstName())
+                && Objects.equals(a.getLastName(), b.getLastName());
+    }
+    
+    /**
+     * Soft delete a student (set is_active = false)
+     */
+    public boolean deleteStudent(int studentId) {
+        List<LocalDate> deactivated = new ArrayList<>();
+        
+        statistics.beginWrite();
+        Connection conn = null;
+        try {
+            conn = DatabaseConfig.getConnection();
+            conn.setAutoCommit(false);
             
-            int userRows = userStmt.executeUpdate();
+            // Lock the row so only the delete that actually deactivates it records the removal
+            try (PreparedStatement lock = conn.prepareStatement(String.format(LOCK_ACTIVE_BY_IDS, "?"))) {
+                lock.setInt(1, studentId);
+                readEnrollmentDates(lock, deactivated);
+            }
             
-            if (studentRows > 0 && userRows > 0) {
-                conn.commit();
-                logger.info("Student updated successfully: {}", student.getStudentNumber());
+            int rows;
+            try (PreparedStatement stmt = conn.prepareStatement(DELETE_STUDENT)) {
+                stmt.setInt(1, studentId);
+                rows = stmt.executeUpdate();
+            }
+            
+            conn.commit();
+            cache.invalidate(studentId);
+            OfflineStore.getInstance().evictStudent(studentId);
+            
+            if (rows > 0 && !deactivated.isEmpty()) {
+                DatabaseConfig.recordWrite();
+                deactivated.forEach(statistics::recordRemoval);
+                logger.info("Student deleted successfully: {}", studentId);
                 return true;
-            } else {
-                conn.rollback();
-                return false;
             }
             
         } catch (SQLException e) {
-            logger.error("Error updating student: {}", e.getMessage(), e);
+            logger.error("Error deleting student: {}", e.getMessage(), e);
             if (conn != null) {
                 try {
                     conn.rollback();
@@ -280,23 +962,141 @@ public class StudentDAO {
                     logger.error("Error rolling back transaction: {}", ex.getMessage(), ex);
                 }
             }
-            return false;
         } finally {
-            // Close resources
-            if (userStmt != null) {
+            if (conn != null) {
                 try {
-                    userStmt.close();
+                    conn.setAutoCommit(true);
+                    conn.close();
                 } catch (SQLException e) {
-                    logger.error("Error closing user statement: {}", e.getMessage(), e);
+                    logger.error("Error closing connection: {}", e.getMessage(), e);
                 }
             }
-            if (studentStmt != null) {
+            statistics.endWrite();
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Set the graduation date of every active student enrolled in a given year
+     * @param enrollmentYear the calendar year of enrollment
+     * @param graduationDate the new graduation date, or null to clear it
+     * @return number of students updated, or -1 on error
+     */
+    public int updateGraduationDateForCohort(int enrollmentYear, LocalDate graduationDate) {
+        int rows = executeCohortUpdate(UPDATE_GRADUATION_BY_ENROLLMENT, enrollmentYear, graduationDate, true, null);
+        if (rows > 0) {
+            cache.invalidateAll();
+            OfflineStore.getInstance().evictAllStudents();
+        }
+        return rows;
+    }
+    
+    /**
+     * Soft delete every active student enrolled in a given year
+     * @param enrollmentYear the calendar year of enrollment
+     * @return number of students deactivated, or -1 on error
+     */
+    public int deactivateCohort(int enrollmentYear) {
+        List<LocalDate> deactivated = new ArrayList<>();
+        statistics.beginWrite();
+        try {
+            int rows = executeCohortUpdate(DEACTIVATE_BY_ENROLLMENT, enrollmentYear, null, false, deactivated);
+            if (rows > 0) {
+                cache.invalidateAll();
+                OfflineStore.getInstance().evictAllStudents();
+                deactivated.forEach(statistics::recordRemoval);
+            }
+            return rows;
+        } finally {
+            statistics.endWrite();
+        }
+    }
+    
+    /**
+     * Set the graduation date of a list of active students in one batched transaction
+     * @param studentIds the students to update
+     * @param graduationDate the new graduation date, or null to clear it
+     * @return number of students updated, or -1 on error
+     */
+    public int updateGraduationDate(Collection<Integer> studentIds, LocalDate graduationDate) {
+        int rows = executeBatchedUpdate(UPDATE_GRADUATION_BY_ID, studentIds, graduationDate, true, null);
+        if (rows > 0) {
+            studentIds.forEach(cache::invalidate);
+            studentIds.forEach(OfflineStore.getInstance()::evictStudent);
+        }
+        return rows;
+    }
+    
+    /**
+     * Soft delete a list of students in one batched transaction
+     * @param studentIds the students to deactivate
+     * @return number of students deactivated, or -1 on error
+     */
+    public int deactivateStudents(Collection<Integer> studentIds) {
+        List<LocalDate> deactivated = new ArrayList<>();
+        statistics.beginWrite();
+        try {
+            int rows = executeBatchedUpdate(DEACTIVATE_BY_ID, studentIds, null, false, deactivated);
+            if (rows > 0) {
+                studentIds.forEach(cache::invalidate);
+                studentIds.forEach(OfflineStore.getInstance()::evictStudent);
+                deactivated.forEach(statistics::recordRemoval);
+            }
+            return rows;
+        } finally {
+            statistics.endWrite();
+        }
+    }
+    
+    /**
+     * @param deactivated if not null, receives the enrollment date of every student the update deactivates
+     */
+    private int executeCohortUpdate(String sql, int enrollmentYear, LocalDate graduationDate, boolean bindGraduationDate,
+                                    List<LocalDate> deactivated) {
+        Date from = Date.valueOf(LocalDate.of(enrollmentYear, 1, 1));
+        Date to = Date.valueOf(LocalDate.of(enrollmentYear + 1, 1, 1));
+        
+        Connection conn = null;
+        try {
+            conn = DatabaseConfig.getConnection();
+            conn.setAutoCommit(false);
+            
+            if (deactivated != null) {
+                try (PreparedStatement lock = conn.prepareStatement(LOCK_ACTIVE_BY_ENROLLMENT)) {
+                    lock.setDate(1, from);
+                    lock.setDate(2, to);
+                    readEnrollmentDates(lock, deactivated);
+                }
+            }
+            
+            int rows;
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int index = 1;
+                if (bindGraduationDate) {
+                    stmt.setDate(index++, graduationDate != null ? Date.valueOf(graduationDate) : null);
+                }
+                stmt.setDate(index++, from);
+                stmt.setDate(index, to);
+                rows = stmt.executeUpdate();
+            }
+            
+            conn.commit();
+            DatabaseConfig.recordWrite();
+            logger.info("Cohort update for enrollment year {} affected {} students", enrollmentYear, rows);
+            return rows;
+            
+        } catch (SQLException e) {
+            logger.error("Error updating cohort for enrollment year {}: {}", enrollmentYear, e.getMessage(), e);
+            if (conn != null) {
                 try {
-                    studentStmt.close();
-                } catch (SQLException e) {
-                    logger.error("Error closing student statement: {}", e.getMessage(), e);
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    logger.error("Error rolling back transaction: {}", ex.getMessage(), ex);
                 }
             }
+            return -1;
+        } finally {
             if (conn != null) {
                 try {
                     conn.setAutoCommit(true);
@@ -309,32 +1109,126 @@ public class StudentDAO {
     }
     
     /**
-     * Soft delete a student (set is_active = false)
+     * @param deactivated if not null, receives the enrollment date of every student the update deactivates
      */
-    public boolean deleteStudent(int studentId) {
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(DELETE_STUDENT)) {
+    private int executeBatchedUpdate(String sql, Collection<Integer> studentIds, LocalDate graduationDate, boolean bindGraduationDate,
+                                     List<LocalDate> deactivated) {
+        if (studentIds.isEmpty()) {
+            return 0;
+        }
+        
+        Connection conn = null;
+        try {
+            conn = DatabaseConfig.getConnection();
+            conn.setAutoCommit(false);
             
-            stmt.setInt(1, studentId);
-            int rows = stmt.executeUpdate();
+            if (deactivated != null) {
+                // database.batch.size ids per lock query: MySQL allows at most 65,535 placeholders per statement
+                // Distinct ids, so a duplicate split across chunks is not counted twice
+                List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(studentIds));
+                int chunkSize = Math.max(1, DEFAULT_BATCH_SIZE);
+                for (int start = 0; start < ids.size(); start += chunkSize) {
+                    List<Integer> chunk = ids.subList(start, Math.min(start + chunkSize, ids.size()));
+                    String in = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+                    try (PreparedStatement lock = conn.prepareStatement(String.format(LOCK_ACTIVE_BY_IDS, in))) {
+                        int index = 1;
+                        for (Integer studentId : chunk) {
+                            lock.setInt(index++, studentId);
+                        }
+                        readEnrollmentDates(lock, deactivated);
+                    }
+                }
+            }
             
-            if (rows > 0) {
-                logger.info("Student deleted successfully: {}", studentId);
-                return true;
+            int rows = 0;
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (Integer studentId : studentIds) {
+                    int index = 1;
+                    if (bindGraduationDate) {
+                        stmt.setDate(index++, graduationDate != null ? Date.valueOf(graduationDate) : null);
+                    }
+                    stmt.setInt(index, studentId);
+                    stmt.addBatch();
+                }
+                for (int count : stmt.executeBatch()) {
+                    if (count > 0) {
+                        rows += count;
+                    }
+                }
             }
             
+            conn.commit();
+            DatabaseConfig.recordWrite();
+            logger.info("Batched update of {} students affected {} rows", studentIds.size(), rows);
+            return rows;
+            
         } catch (SQLException e) {
-            logger.error("Error deleting student: {}", e.getMessage(), e);
+            logger.error("Error in batched student update: {}", e.getMessage(), e);
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    logger.error("Error rolling back transaction: {}", ex.getMessage(), ex);
+                }
+            }
+            return -1;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException e) {
+                    logger.error("Error closing connection: {}", e.getMessage(), e);
+                }
+            }
+        }
+    }
+    
+    private void readEnrollmentDates(PreparedStatement stmt, List<LocalDate> dates) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                Date enrollmentDate = rs.getDate(1);
+                dates.add(enrollmentDate != null ? enrollmentDate.toLocalDate() : null);
+            }
+        }
+    }
+    
+    /**
+     * Get the shared student cache, e.g. to report hit and miss counts
+     * @return the cache used by getStudentById and getStudentByStudentNumber
+     */
+    public static StudentCache getCache() {
+        return cache;
+    }
+    
+    /**
+     * Get the shared in-memory student statistics
+     * @return the statistics behind getTotalStudents and getStudentsEnrolledAfter
+     */
+    public static StudentStatistics getStatistics() {
+        return statistics;
+    }
+    
+    private boolean ensureStatistics() {
+        statistics.startReconciliation(STATISTICS_MAX_AGE_MILLIS);
+        return statistics.ensureFresh(STATISTICS_MAX_AGE_MILLIS);
+    }
+    
+    private void recordEnrollment(Student student) {
+        if (student.isActive()) {
+            statistics.recordEnrollment(student.getEnrollmentDate() != null ? student.getEnrollmentDate() : LocalDate.now());
         }
-        
-        return false;
     }
     
     /**
      * Get total number of active students
      */
     public int getTotalStudents() {
-        try (Connection conn = DatabaseConfig.getConnection();
+        if (ensureStatistics()) {
+            return statistics.getTotal();
+        }
+        
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(COUNT_STUDENTS);
              ResultSet rs = stmt.executeQuery()) {
             
@@ -353,7 +1247,11 @@ public class StudentDAO {
      * Get number of students enrolled after a specific date
      */
     public int getStudentsEnrolledAfter(LocalDate date) {
-        try (Connection conn = DatabaseConfig.getConnection();
+        if (ensureStatistics()) {
+            return statistics.countEnrolledOnOrAfter(date);
+        }
+        
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(COUNT_STUDENTS_BY_DATE)) {
             
             stmt.setDate(1, Date.valueOf(date));
@@ -370,58 +1268,27 @@ public class StudentDAO {
         return 0;
     }
     
-    /**
-     * Map ResultSet to Student object
-     */
-    private Student mapResultSetToStudent(ResultSet rs) throws SQLException {
-        Student student = new Student();
-        
-        student.setStudentId(rs.getInt("student_id"));
-        student.setUserId(rs.getInt("user_id"));
-        student.setStudentNumber(rs.getString("student_number"));
-        
-        Date dob = rs.getDate("date_of_birth");
-        if (dob != null) {
-            student.setDateOfBirth(dob.toLocalDate());
-        }
-        
-        String genderStr = rs.getString("gender");
-        if (genderStr != null) {
-            student.setGender(Student.Gender.valueOf(genderStr));
-        }
-        
-        student.setAddress(rs.getString("address"));
-        student.setPhoneNumber(rs.getString("phone_number"));
-        student.setParentContact(rs.getString("parent_contact"));
-        
-        Date enrollmentDate = rs.getDate("enrollment_date");
-        if (enrollmentDate != null) {
-            student.setEnrollmentDate(enrollmentDate.toLocalDate());
-        }
-        
-        Date graduationDate = rs.getDate("graduation_date");
-        if (graduationDate != null) {
-            student.setGraduationDate(graduationDate.toLocalDate());
+    private void closeQuietly(ResultSet rs, Statement stmt, Connection conn) {
+        if (rs != null) {
+            try {
+                rs.close();
+            } catch (SQLException e) {
+                logger.error("Error closing result set: {}", e.getMessage(), e);
+            }
         }
-        
-        student.setActive(rs.getBoolean("is_active"));
-        
-        Timestamp createdAt = rs.getTimestamp("created_at");
-        if (createdAt != null) {
-            student.setCreatedAt(createdAt.toLocalDateTime());
+        if (stmt != null) {
+            try {
+                stmt.close();
+            } catch (SQLException e) {
+                logger.error("Error closing statement: {}", e.getMessage(), e);
+            }
         }
-        
-        Timestamp updatedAt = rs.getTimestamp("updated_at");
-        if (updatedAt != null) {
-            student.setUpdatedAt(updatedAt.toLocalDateTime());
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                logger.error("Error closing connection: {}", e.getMessage(), e);
+            }
         }
-        
-        // Set user information
-        student.setUsername(rs.getString("username"));
-        student.setEmail(rs.getString("email"));
-        student.setFirstName(rs.getString("first_name"));
-        student.setLastName(rs.getString("last_name"));
-        
-        return student;
     }
 }
\ No newline at end of file
@@ -0,0 +1,318 @@
+package com.schoolmanagement.dao;
+
+import com.schoolmanagement.config.DatabaseConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory statistics over active students, seeded once from the database and kept
+ * current by the StudentDAO write methods. The total is answered in constant time and
+ * "enrolled on or after a date" by binary search over a per-day histogram with suffix sums.
+ * A periodic reconciliation reloads the histogram to pick up other clients' changes and correct drift.
+ * Reloads run one at a time on the reconciler thread; readers never wait for one.
+ * <p>
+ * Writers bracket their transaction with beginWrite() and endWrite() and record the change in between.
+ * A reload is discarded if any write was in flight or recorded while its query ran, because the
+ * query may or may not have seen that write; the in-memory counts are kept and the reload retried.
+ */
+public class StudentStatistics {
+    private static final Logger logger = LoggerFactory.getLogger(StudentStatistics.class);
+
+    private static final String SELECT_ENROLLMENT_HISTOGRAM =
+        "SELECT enrollment_date, COUNT(*) FROM students WHERE is_active = true GROUP BY enrollment_date";
+
+    // Reloads attempted by one reconcile() call before giving up to concurrent writers
+    private static final int RECONCILE_ATTEMPTS = 3;
+
+    // epoch day -> number of active students enrolled that day; guarded by "this"
+    private final TreeMap<Long, Integer> histogram = new TreeMap<>();
+    private int undatedCount;
+    private int total;
+    private volatile boolean seeded;
+    // Bumped by every recorded change; guarded by "this"
+    private long version;
+    private int writesInFlight;
+    private volatile long reconciledAtMillis;
+
+    // Immutable view for readers, rebuilt lazily after writes
+    private volatile Snapshot snapshot;
+
+    // Guarded by "this"; created on first use
+    private ScheduledExecutorService reconciler;
+    private boolean reconciliationScheduled;
+    // Set while a background reload is queued or running, so stale reads start at most one
+    private final AtomicBoolean reloadPending = new AtomicBoolean();
+
+    private static final class Snapshot {
+        final int total;
+        final long[] days;
+        // suffixCounts[i] = students enrolled on days[i] or later; suffixCounts[days.length] = 0
+        final int[] suffixCounts;
+
+        Snapshot(int total, long[] days, int[] suffixCounts) {
+            this.total = total;
+            this.days = days;
+            this.suffixCounts = suffixCounts;
+        }
+    }
+
+    /**
+     * @return true once the statistics have been loaded from the database
+     */
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * Check the statistics without waiting for the database. If they are not seeded yet or the
+     * last successful reload is older than maxAgeMillis, a background reload is started and the
+     * current counts are served meanwhile.
+     * @param maxAgeMillis how stale the counts may be before a reload is started
+     * @return true if the statistics are available; false until the first reload has finished
+     */
+    public boolean ensureFresh(long maxAgeMillis) {
+        if (!seeded || System.currentTimeMillis() - reconciledAtMillis > maxAgeMillis) {
+            reconcileInBackground();
+        }
+        return seeded;
+    }
+
+    /**
+     * Reload on the reconciler thread, unless a reload is already queued or running
+     */
+    public void reconcileInBackground() {
+        if (!reloadPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            reconciler().execute(() -> {
+                try {
+                    reconcile();
+                } finally {
+                    reloadPending.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            reloadPending.set(false); // stopped while we were submitting
+        }
+    }
+
+    /**
+     * Reload the histogram from the database on the calling thread, replacing the in-memory counts
+     * @return false if the database could not be queried
+     */
+    public boolean reconcile() {
+        for (int attempt = 1; attempt <= RECONCILE_ATTEMPTS; attempt++) {
+            Boolean applied = reload();
+            if (applied == null) {
+                return false;
+            }
+            if (applied) {
+                return true;
+            }
+        }
+        logger.debug("Student statistics reload skipped: writes kept arriving during the query");
+        return true;
+    }
+
+    /**
+     * @return true if applied, false if discarded because of concurrent writes, null on error
+     */
+    private Boolean reload() {
+        long stamp;
+        synchronized (this) {
+            stamp = version;
+        }
+
+        TreeMap<Long, Integer> loaded = new TreeMap<>();
+        int loadedUndated = 0;
+        int loadedTotal = 0;
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ENROLLMENT_HISTOGRAM);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                Date day = rs.getDate(1);
+                int count = rs.getInt(2);
+                if (day != null) {
+                    loaded.put(day.toLocalDate().toEpochDay(), count);
+                } else {
+                    loadedUndated += count;
+                }
+                loadedTotal += count;
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error loading student statistics: {}", e.getMessage(), e);
+            return null;
+        }
+
+        synchronized (this) {
+            if (version != stamp || writesInFlight > 0) {
+                return false;
+            }
+            if (seeded && loadedTotal != total) {
+                logger.info("Student statistics reconciled: total {} -> {}", total, loadedTotal);
+            }
+            histogram.clear();
+            histogram.putAll(loaded);
+            undatedCount = loadedUndated;
+            total = loadedTotal;
+            seeded = true;
+            reconciledAtMillis = System.currentTimeMillis();
+            snapshot = null;
+        }
+        return true;
+    }
+
+    /**
+     * Start reconciling against the database on a background thread
+     * @param intervalMillis milliseconds between reconciliations
+     */
+    public synchronized void startReconciliation(long intervalMillis) {
+        if (reconciliationScheduled || intervalMillis <= 0) {
+            return;
+        }
+        reconciler().scheduleWithFixedDelay(this::reconcileInBackground, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+        reconciliationScheduled = true;
+        logger.info("Student statistics reconciliation scheduled every {} s", intervalMillis / 1000);
+    }
+
+    /**
+     * Stop the background reconciliation, if running
+     */
+    public synchronized void stopReconciliation() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+            reconciler = null;
+            reconciliationScheduled = false;
+            reloadPending.set(false); // a queued reload was dropped with the executor
+        }
+    }
+
+    private synchronized ScheduledExecutorService reconciler() {
+        if (reconciler == null) {
+            reconciler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "student-stats-reconciler");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return reconciler;
+    }
+
+    /**
+     * Mark the start of a transaction that may change the active students.
+     * Must be paired with endWrite(), after the change has been recorded.
+     */
+    public synchronized void beginWrite() {
+        writesInFlight++;
+        version++;
+    }
+
+    /**
+     * Mark the end of a transaction started with beginWrite(), committed or not
+     */
+    public synchronized void endWrite() {
+        writesInFlight--;
+    }
+
+    /**
+     * Record a newly created active student
+     * @param enrollmentDate the enrollment date, or null if unknown
+     */
+    public void recordEnrollment(LocalDate enrollmentDate) {
+        adjust(enrollmentDate, 1);
+    }
+
+    /**
+     * Record an active student that was deactivated or removed
+     * @param enrollmentDate the enrollment date, or null if unknown
+     */
+    public void recordRemoval(LocalDate enrollmentDate) {
+        adjust(enrollmentDate, -1);
+    }
+
+    /**
+     * Get the number of active students in constant time
+     * @return the total, or 0 if not seeded
+     */
+    public int getTotal() {
+        return currentSnapshot().total;
+    }
+
+    /**
+     * Get the number of active students enrolled on or after a date in O(log n)
+     * @param date the first enrollment date to count
+     * @return the count, or 0 if not seeded
+     */
+    public int countEnrolledOnOrAfter(LocalDate date) {
+        Snapshot current = currentSnapshot();
+        int index = Arrays.binarySearch(current.days, date.toEpochDay());
+        if (index < 0) {
+            index = -index - 1; // insertion point: first day after the requested date
+        }
+        return current.suffixCounts[index];
+    }
+
+    private synchronized void adjust(LocalDate enrollmentDate, int delta) {
+        version++;
+        if (!seeded) {
+            return; // the next seed will include this change
+        }
+        total += delta;
+        if (enrollmentDate == null) {
+            undatedCount += delta;
+        } else {
+            histogram.merge(enrollmentDate.toEpochDay(), delta, (a, b) -> a + b == 0 ? null : a + b);
+        }
+        snapshot = null;
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                long[] days = new long[histogram.size()];
+                int[] suffixCounts = new int[histogram.size() + 1];
+                int i = 0;
+                for (Map.Entry<Long, Integer> entry : histogram.entrySet()) {
+                    days[i++] = entry.getKey();
+                }
+                i = days.length;
+                for (Integer count : histogram.descendingMap().values()) {
+                    suffixCounts[i - 1] = suffixCounts[i] + count;
+                    i--;
+                }
+                snapshot = new Snapshot(total, days, suffixCounts);
+            }
+            return snapshot;
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("StudentStatistics{seeded=%s, total=%d, days=%d, undated=%d}",
+                seeded, total, histogram.size(), undatedCount);
+    }
+}
@@ -1,7 +1,15 @@
 package com.schoolmanagement.dao;
 
+import com.schoolmanagement.config.AppConfig;
 import com.schoolmanagement.config.DatabaseConfig;
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.Teacher;
 import com.schoolmanagement.model.User;
+import com.schoolmanagement.model.UserProfile;
+import com.schoolmanagement.model.UserRegistration;
+import com.schoolmanagement.util.LoginThrottle;
+import com.schoolmanagement.util.LoginThrottledException;
+import com.schoolmanagement.util.PasswordHashingPool;
 import com.schoolmanagement.util.PasswordUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,64 +18,241 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Data Access Object for User operations
  */
 public class UserDAO {
     private static final Logger logger = LoggerFactory.getLogger(UserDAO.class);
+    
+    private static final String INSERT_USER =
+        "INSERT INTO users (username, password_hash, email, first_name, last_name, role) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+    
+    // The role profile comes back in the same round trip; the role conditions keep the
+    // other join empty. Profile is_active columns are aliased and follow u.is_active.
+    private static final String SELECT_LOGIN_PROFILE =
+        "SELECT u.user_id, u.username, u.password_hash, u.email, u.first_name, u.last_name, u.role, u.is_active, u.created_at, " +
+        "s.student_id, s.student_number, s.date_of_birth, s.gender, s.address, s.phone_number, " +
+        "s.parent_contact, s.enrollment_date, s.graduation_date, s.is_active AS student_active, " +
+        "t.teacher_id, t.employee_number, t.department, t.specialization, t.hire_date, t.salary, " +
+        "t.is_active AS teacher_active " +
+        "FROM users u " +
+        "LEFT JOIN students s ON s.user_id = u.user_id AND u.role = 'STUDENT' " +
+        "LEFT JOIN teachers t ON t.user_id = u.user_id AND u.role = 'TEACHER' " +
+        "WHERE u.username = ? AND u.is_active = true " +
+        "LIMIT 1";
+    
+    private static final int DEFAULT_BATCH_SIZE = AppConfig.getIntProperty("database.batch.size", 500);
+    
+    // Compare-and-set so a rehash never overwrites a password changed in the meantime
+    private static final String UPDATE_PASSWORD_HASH_IF_UNCHANGED =
+        "UPDATE users SET password_hash = ? WHERE user_id = ? AND password_hash = ?";
 
     /**
      * Authenticate user with username and password
      * @param username the username
      * @param password the plain text password
      * @return Optional containing User if authentication successful
+     * @throws com.schoolmanagement.util.LoginThrottledException if too many attempts were made recently
+     * @throws java.util.concurrent.RejectedExecutionException if the password hashing pool is saturated
      */
     public Optional<User> authenticateUser(String username, String password) {
-        String sql = "SELECT user_id, username, password_hash, email, first_name, last_name, role, is_active " +
-                    "FROM users WHERE username = ? AND is_active = true";
+        return authenticateUser(username, password, LoginThrottle.LOCAL_CLIENT);
+    }
+
+    /**
+     * Authenticate user with username and password on behalf of a specific client
+     * @param username the username
+     * @param password the plain text password
+     * @param clientId identifies the client for per-client throttling
+     * @return Optional containing User if authentication successful
+     * @throws com.schoolmanagement.util.LoginThrottledException if too many attempts were made recently
+     * @throws java.util.concurrent.RejectedExecutionException if the password hashing pool is saturated
+     */
+    public Optional<User> authenticateUser(String username, String password, String clientId) {
+        return authenticateProfile(username, password, clientId).map(UserProfile::getUser);
+    }
+
+    /**
+     * Authenticate user and load their student or teacher profile in the same query
+     * @param username the username
+     * @param password the plain text password
+     * @return Optional containing the user and role profile if authentication successful
+     * @throws com.schoolmanagement.util.LoginThrottledException if too many attempts were made recently
+     * @throws java.util.concurrent.RejectedExecutionException if the password hashing pool is saturated
+     */
+    public Optional<UserProfile> authenticateProfile(String username, String password) {
+        return authenticateProfile(username, password, LoginThrottle.LOCAL_CLIENT);
+    }
+
+    /**
+     * Authenticate user on behalf of a specific client and load their role profile in the same query
+     * @param username the username
+     * @param password the plain text password
+     * @param clientId identifies the client for per-client throttling
+     * @return Optional containing the user and role profile if authentication successful
+     * @throws com.schoolmanagement.util.LoginThrottledException if too many attempts were made recently
+     * @throws java.util.concurrent.RejectedExecutionException if the password hashing pool is saturated
+     */
+    public Optional<UserProfile> authenticateProfile(String username, String password, String clientId) {
+        AuthAuditLog audit = AuthAuditLog.getInstance();
+        
+        // Throttle first: a refused attempt must not cost a query or a hash
+        try {
+            LoginThrottle.getInstance().acquire(username, clientId);
+        } catch (LoginThrottledException e) {
+            audit.record(username, null, clientId, AuthAuditLog.Outcome.THROTTLED);
+            throw e;
+        }
         
         logger.info("Attempting to authenticate user: {}", username);
         
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, username);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    String storedHash = rs.getString("password_hash");
-                    logger.debug("Found user {} with password hash: {}", username, storedHash);
-                    logger.debug("Attempting to verify password: '{}' against hash", password);
-                    
-                    if (PasswordUtil.verifyPassword(password, storedHash)) {
-                        User user = new User();
-                        user.setUserId(rs.getInt("user_id"));
-                        user.setUsername(rs.getString("username"));
-                        user.setPasswordHash(rs.getString("password_hash"));
-                        user.setEmail(rs.getString("email"));
-                        user.setFirstName(rs.getString("first_name"));
-                        user.setLastName(rs.getString("last_name"));
-                        user.setRole(User.UserRole.valueOf(rs.getString("role")));
-                        user.setActive(rs.getBoolean("is_active"));
-                        
-                        logger.info("User {} authenticated successfully with role: {}", username, user.getRole());
-                        return Optional.of(user);
+        OfflineStore offline = OfflineStore.getInstance();
+        boolean local = offline.isOffline();
+        UserProfile candidate = null;
+        if (local) {
+            candidate = offlineCandidate(offline, username, clientId);
+        } else {
+            try (Connection conn = DatabaseConfig.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(SELECT_LOGIN_PROFILE)) {
+                
+                stmt.setString(1, username);
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        candidate = mapLoginProfile(rs);
                     } else {
-                        logger.warn("Invalid password for user: {}. Provided password: '{}'", username, password);
+                        logger.warn("User not found: {}", username);
+                        audit.record(username, null, clientId, AuthAuditLog.Outcome.UNKNOWN_USER);
+                        // Deleted or deactivated: no longer allowed to sign in offline either
+                        offline.evictProfileUnlessCurrent(username, null);
                     }
+                }
+            } catch (SQLException e) {
+                if (offline.fallBack(e)) {
+                    local = true;
+                    candidate = offlineCandidate(offline, username, clientId);
                 } else {
-                    logger.warn("User not found: {}", username);
+                    logger.error("Error authenticating user: {}", username, e);
+                    audit.record(username, null, clientId, AuthAuditLog.Outcome.ERROR);
                 }
             }
-        } catch (SQLException e) {
-            logger.error("Error authenticating user: {}", username, e);
         }
         
+        if (candidate == null) {
+            return Optional.empty();
+        }
+        
+        // Verify after the connection is back in the pool: BCrypt is slow and must not hold it.
+        // Runs on the dedicated hashing pool, which throws RejectedExecutionException when saturated.
+        User user = candidate.getUser();
+        String storedHash = user.getPasswordHash();
+        boolean verified;
+        try {
+            verified = PasswordHashingPool.getInstance().verify(password, storedHash);
+        } catch (RejectedExecutionException e) {
+            audit.record(username, user.getUserId(), clientId, AuthAuditLog.Outcome.BUSY);
+            throw e;
+        }
+        
+        if (verified) {
+            logger.info("User {} authenticated successfully with role: {}", username, user.getRole());
+            audit.record(username, user.getUserId(), clientId, AuthAuditLog.Outcome.SUCCESS);
+            LoginThrottle.getInstance().recordSuccess(username);
+            if (local) {
+                logger.info("User {} signed in offline from the local cache", username);
+            } else {
+                offline.cacheProfile(candidate);
+                if (PasswordUtil.needsRehash(storedHash)) {
+                    scheduleRehash(user, password);
+                }
+            }
+            return Optional.of(candidate);
+        }
+        
+        logger.warn("Invalid password for user: {}", username);
+        audit.record(username, user.getUserId(), clientId, AuthAuditLog.Outcome.INVALID_PASSWORD);
+        if (!local) {
+            // A password changed elsewhere must not keep the old one working offline
+            offline.evictProfileUnlessCurrent(username, user);
+        }
         return Optional.empty();
     }
 
+    /**
+     * Only active users who signed in online on this machine recently enough can sign in while offline
+     */
+    private UserProfile offlineCandidate(OfflineStore offline, String username, String clientId) {
+        Optional<UserProfile> cached = offline.getProfile(username);
+        if (cached.isEmpty()) {
+            logger.warn("User {} has no current cached profile and cannot sign in offline", username);
+            AuthAuditLog.getInstance().record(username, null, clientId, AuthAuditLog.Outcome.ERROR);
+            return null;
+        }
+        return cached.get();
+    }
+
+    private UserProfile mapLoginProfile(ResultSet rs) throws SQLException {
+        User user = RowMappers.USER.forQuery(SELECT_LOGIN_PROFILE, rs).mapRow(rs);
+        
+        Student student = null;
+        rs.getInt("student_id");
+        if (!rs.wasNull()) {
+            student = RowMappers.STUDENT.forQuery(SELECT_LOGIN_PROFILE, rs).mapRow(rs);
+        }
+        
+        Teacher teacher = null;
+        rs.getInt("teacher_id");
+        if (!rs.wasNull()) {
+            teacher = RowMappers.TEACHER.forQuery(SELECT_LOGIN_PROFILE, rs).mapRow(rs);
+        }
+        
+        return new UserProfile(user, student, teacher);
+    }
+
+    /**
+     * Re-hash a verified password at the current work factor in the background
+     */
+    private void scheduleRehash(User user, String password) {
+        String oldHash = user.getPasswordHash();
+        try {
+            PasswordHashingPool.getInstance()
+                .submit(() -> PasswordUtil.hashPassword(password))
+                .thenAccept(newHash -> {
+                    if (replacePasswordHash(user.getUserId(), oldHash, newHash)) {
+                        logger.info("Rehashed password for user {} from cost {} to {}", user.getUsername(),
+                                PasswordUtil.getCost(oldHash), PasswordUtil.getCost(newHash));
+                    }
+                });
+        } catch (RejectedExecutionException e) {
+            // Not urgent: the next successful login will try again
+            logger.debug("Skipping rehash for user {}: hashing pool busy", user.getUsername());
+        }
+    }
+    
+    private boolean replacePasswordHash(int userId, String oldHash, String newHash) {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_PASSWORD_HASH_IF_UNCHANGED)) {
+            
+            stmt.setString(1, newHash);
+            stmt.setInt(2, userId);
+            stmt.setString(3, oldHash);
+            return stmt.executeUpdate() > 0;
+            
+        } catch (SQLException e) {
+            logger.error("Error rehashing password for user ID: {}", userId, e);
+        }
+        
+        return false;
+    }
+
     /**
      * Get user by username
      * @param username the username
@@ -77,27 +262,24 @@ public class UserDAO {
         String sql = "SELECT user_id, username, password_hash, email, first_name, last_name, role, is_active " +
                     "FROM users WHERE username = ?";
         
-        try (Connection conn = DatabaseConfig.getConnection();
+        if (OfflineStore.getInstance().isOffline()) {
+            return OfflineStore.getInstance().getProfile(username).map(UserProfile::getUser);
+        }
+        
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setString(1, username);
             
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    User user = new User();
-                    user.setUserId(rs.getInt("user_id"));
-                    user.setUsername(rs.getString("username"));
-                    user.setPasswordHash(rs.getString("password_hash"));
-                    user.setEmail(rs.getString("email"));
-                    user.setFirstName(rs.getString("first_name"));
-                    user.setLastName(rs.getString("last_name"));
-                    user.setRole(User.UserRole.valueOf(rs.getString("role")));
-                    user.setActive(rs.getBoolean("is_active"));
-                    
-                    return Optional.of(user);
-                }
+                User user = rs.next() ? RowMappers.USER.forQuery(sql, rs).mapRow(rs) : null;
+                OfflineStore.getInstance().evictProfileUnlessCurrent(username, user);
+                return Optional.ofNullable(user);
             }
         } catch (SQLException e) {
+            if (OfflineStore.getInstance().fallBack(e)) {
+                return OfflineStore.getInstance().getProfile(username).map(UserProfile::getUser);
+            }
             logger.error("Error getting user by username: {}", username, e);
         }
         
@@ -111,22 +293,16 @@ public class UserDAO {
      * @return true if user created successfully
      */
     public boolean createUser(User user, String password) {
-        String sql = "INSERT INTO users (username, password_hash, email, first_name, last_name, role) " +
-                    "VALUES (?, ?, ?, ?, ?, ?)";
-        
         try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(INSERT_USER)) {
             
-            stmt.setString(1, user.getUsername());
-            stmt.setString(2, PasswordUtil.hashPassword(password));
-            stmt.setString(3, user.getEmail());
-            stmt.setString(4, user.getFirstName());
-            stmt.setString(5, user.getLastName());
-            stmt.setString(6, user.getRole().name());
+            bindUser(stmt, user, PasswordUtil.hashPassword(password));
             
             int rowsAffected = stmt.executeUpdate();
             
             if (rowsAffected > 0) {
+                DatabaseConfig.recordWrite();
+                UserKeyFilter.recordUser(user.getUsername(), user.getEmail());
                 logger.info("User created successfully: {}", user.getUsername());
                 return true;
             }
@@ -137,6 +313,134 @@ public class UserDAO {
         return false;
     }
 
+    /**
+     * Create many users at once using the default chunk size
+     * @see #createUsers(Collection, int)
+     */
+    public BatchResult createUsers(Collection<UserRegistration> registrations) {
+        return createUsers(registrations, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Create many users at once. Passwords are hashed on the password hashing pool, then rows are
+     * inserted with JDBC batches and committed every chunkSize rows. If a chunk fails it is rolled
+     * back and retried row by row, so one duplicate username does not abort the rest.
+     * @param registrations the users and their initial passwords
+     * @param chunkSize number of rows per transaction
+     * @return per-row results in iteration order; generated ids are the new user_id values
+     */
+    public BatchResult createUsers(Collection<UserRegistration> registrations, int chunkSize) {
+        return new BatchInserter<UserRegistration>("user creation") {
+            @Override
+            protected String validate(UserRegistration registration) {
+                return validateRegistration(registration);
+            }
+            
+            @Override
+            protected String getPassword(UserRegistration registration) {
+                return registration.getPassword();
+            }
+            
+            @Override
+            protected int[] insertChunk(Connection conn, List<UserRegistration> rows, String[] hashes) throws SQLException {
+                return insertUserChunk(conn, rows, hashes);
+            }
+            
+            @Override
+            protected int insertRow(Connection conn, UserRegistration registration, String hash) throws SQLException {
+                return insertUserRow(conn, registration.getUser(), hash);
+            }
+            
+            @Override
+            protected void afterCommit(UserRegistration registration) {
+                UserKeyFilter.recordUser(registration.getUser().getUsername(), registration.getUser().getEmail());
+            }
+            
+            @Override
+            protected String describe(UserRegistration registration) {
+                return registration.getUser().getUsername();
+            }
+        }.run(new ArrayList<>(registrations), chunkSize);
+    }
+    
+    private String validateRegistration(UserRegistration registration) {
+        if (registration == null || registration.getUser() == null) {
+            return "User is required";
+        }
+        User user = registration.getUser();
+        if (user.getUsername() == null || user.getUsername().trim().isEmpty()) {
+            return "Username is required";
+        }
+        if (registration.getPassword() == null || registration.getPassword().trim().isEmpty()) {
+            return "Password is required";
+        }
+        if (user.getEmail() == null || user.getEmail().trim().isEmpty()) {
+            return "Email is required";
+        }
+        if (user.getRole() == null) {
+            return "Role is required";
+        }
+        return null;
+    }
+    
+    /**
+     * Insert one chunk as a single batch on the caller's transaction
+     * @return the generated user ids, in chunk order
+     */
+    private int[] insertUserChunk(Connection conn, List<UserRegistration> rows, String[] hashes) throws SQLException {
+        int[] userIds = new int[rows.size()];
+        
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_USER, Statement.RETURN_GENERATED_KEYS)) {
+            for (int j = 0; j < rows.size(); j++) {
+                bindUser(stmt, rows.get(j).getUser(), hashes[j]);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            
+            // With rewriteBatchedStatements the driver returns one key per row of the multi-row insert
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                int j = 0;
+                while (keys.next() && j < rows.size()) {
+                    userIds[j] = keys.getInt(1);
+                    rows.get(j).getUser().setUserId(userIds[j]);
+                    j++;
+                }
+                if (j != rows.size()) {
+                    throw new SQLException("Expected " + rows.size() + " generated user ids but got " + j);
+                }
+            }
+        }
+        
+        return userIds;
+    }
+    
+    /**
+     * Insert a single user on the caller's transaction, used when a batched chunk fails
+     * @return the generated user id
+     */
+    private int insertUserRow(Connection conn, User user, String hash) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_USER, Statement.RETURN_GENERATED_KEYS)) {
+            bindUser(stmt, user, hash);
+            stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (!keys.next()) {
+                    throw new SQLException("No generated user id");
+                }
+                user.setUserId(keys.getInt(1));
+            }
+        }
+        return user.getUserId();
+    }
+    
+    private void bindUser(PreparedStatement stmt, User user, String passwordHash) throws SQLException {
+        stmt.setString(1, user.getUsername());
+        stmt.setString(2, passwordHash);
+        stmt.setString(3, user.getEmail());
+        stmt.setString(4, user.getFirstName());
+        stmt.setString(5, user.getLastName());
+        stmt.setString(6, user.getRole().name());
+    }
+
     /**
      * Update user password
      * @param userId the user ID
@@ -155,6 +459,9 @@ public class UserDAO {
             int rowsAffected = stmt.executeUpdate();
             
             if (rowsAffected > 0) {
+                DatabaseConfig.recordWrite();
+                // The old password must not keep signing in offline on this machine
+                OfflineStore.getInstance().evictProfile(userId);
                 logger.info("Password updated for user ID: {}", userId);
                 return true;
             }
@@ -171,6 +478,10 @@ public class UserDAO {
      * @return true if username exists
      */
     public boolean usernameExists(String username) {
+        if (UserKeyFilter.isDefinitelyAbsentUsername(username)) {
+            return false;
+        }
+        
         String sql = "SELECT COUNT(*) FROM users WHERE username = ?";
         
         try (Connection conn = DatabaseConfig.getConnection();
@@ -180,7 +491,11 @@ public class UserDAO {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return rs.getInt(1) > 0;
+                    boolean exists = rs.getInt(1) > 0;
+                    if (!exists) {
+                        UserKeyFilter.recordSqlMiss();
+                    }
+                    return exists;
                 }
             }
         } catch (SQLException e) {
@@ -196,6 +511,10 @@ public class UserDAO {
      * @return true if email exists
      */
     public boolean emailExists(String email) {
+        if (UserKeyFilter.isDefinitelyAbsentEmail(email)) {
+            return false;
+        }
+        
         String sql = "SELECT COUNT(*) FROM users WHERE email = ?";
         
         try (Connection conn = DatabaseConfig.getConnection();
@@ -205,7 +524,11 @@ public class UserDAO {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return rs.getInt(1) > 0;
+                    boolean exists = rs.getInt(1) > 0;
+                    if (!exists) {
+                        UserKeyFilter.recordSqlMiss();
+                    }
+                    return exists;
                 }
             }
         } catch (SQLException e) {
@@ -0,0 +1,457 @@
+package com.schoolmanagement.dao;
+
+import com.schoolmanagement.config.AppConfig;
+import com.schoolmanagement.config.DatabaseConfig;
+import com.schoolmanagement.util.BloomFilter;
+import com.schoolmanagement.util.LatencyHistogram;
+import com.schoolmanagement.util.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bloom filters over users.username and users.email. They let usernameExists and
+ * emailExists answer "no" without a per-value query. They are built in the background from
+ * the users table on first use, and every DAO path that inserts users, or changes an email,
+ * adds to them. Until the build finishes, every check falls through to SQL.
+ * <p>
+ * Other clients and plain SQL also write to users, so a miss is only trusted if the filters
+ * caught up with the table at most security.bloom.max.staleness.ms ago. Catching up reads the
+ * rows whose updated_at (set on insert and on update) is at or after the newest one seen, on the
+ * idx_users_updated_at index; one catch-up serves every check in that window, e.g. a whole import.
+ * If it cannot run, the miss is treated as unknown and the check falls through to SQL. The window
+ * defaults to 30 s so form validation rarely queries at all; a value another client wrote inside
+ * it can still get a stale "no", which the unique constraints on users then reject at insert.
+ * <p>
+ * Values are filed under a folded key that MySQL's default utf8mb4_0900_ai_ci collation (case-
+ * and accent-insensitive, NO PAD) compares the same way, so a filter miss is also a database miss.
+ * Trailing spaces are dropped as well, which under NO PAD only adds false positives. The fold
+ * spells accented letters and the expansions the collation knows (ß = ss, æ = ae) in plain ASCII;
+ * any other character ends the trusted part of a key. A stored value then keeps only the part
+ * before it, which every equal value must start with, and a checked value with one goes to SQL.
+ */
+public final class UserKeyFilter {
+    private static final Logger logger = LoggerFactory.getLogger(UserKeyFilter.class);
+
+    private static final String COUNT_USERS = "SELECT COUNT(*) FROM users";
+    private static final String SELECT_USER_KEYS = "SELECT username, email, updated_at FROM users";
+    private static final String SELECT_CHANGED_USER_KEYS =
+        "SELECT username, email, updated_at FROM users WHERE updated_at >= ?";
+
+    private static final double FALSE_POSITIVE_RATE =
+        Double.parseDouble(AppConfig.getProperty("security.bloom.fpp", "0.01"));
+    private static final int MIN_CAPACITY = 10_000;
+    private static final long RETRY_AFTER_FAILURE_NANOS = 60_000_000_000L;
+    private static final long MAX_STALENESS_NANOS =
+        AppConfig.getIntProperty("security.bloom.max.staleness.ms", 30_000) * 1_000_000L;
+    // updated_at is taken when the statement runs, not at commit: re-read this far back
+    // so rows committed a little after they were stamped are not skipped
+    private static final long WATERMARK_OVERLAP_MILLIS = 10_000;
+
+    private static final Object lock = new Object();
+    private static KeyFilter usernames;          // guarded by lock for publication
+    private static KeyFilter emails;
+    private static boolean building;             // guarded by lock
+    private static final List<String[]> pending = new ArrayList<>(); // inserts seen before the filters existed
+    private static volatile boolean ready;
+    private static long lastFailureNanos;        // guarded by lock
+    private static boolean failedBefore;         // guarded by lock
+    private static final ReentrantLock refreshLock = new ReentrantLock();
+    private static Timestamp watermark;          // newest updated_at seen; guarded by refreshLock
+    private static volatile long refreshedAtNanos;
+    private static volatile long buildMillis = -1;
+
+    private static final LongAdder definiteMisses = new LongAdder();
+    private static final LongAdder fallThroughs = new LongAdder();
+    private static final LongAdder refreshes = new LongAdder();
+    private static final LongAdder sqlMisses = new LongAdder();
+    private static final LatencyHistogram catchUpTimer = MetricsRegistry.getInstance().timer("userkeys.catchup");
+
+    static {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        registry.gauge("userkeys.build_ms", () -> buildMillis);
+        registry.gauge("userkeys.memory_bytes", UserKeyFilter::getMemoryBytes);
+        registry.gauge("userkeys.expected_fpp", UserKeyFilter::getExpectedFalsePositiveRate);
+        registry.gauge("userkeys.definite_misses", definiteMisses::sum);
+        registry.gauge("userkeys.fall_throughs", fallThroughs::sum);
+        registry.gauge("userkeys.sql_misses", sqlMisses::sum);
+    }
+
+    private UserKeyFilter() {
+    }
+
+    /**
+     * @param username the username to check
+     * @return true only if the username was not in the users table when the filters last caught up,
+     *         at most security.bloom.max.staleness.ms ago
+     */
+    public static boolean isDefinitelyAbsentUsername(String username) {
+        return isDefinitelyAbsent(ready ? usernames : null, username);
+    }
+
+    /**
+     * @param email the email to check
+     * @return true only if the email was not in the users table when the filters last caught up,
+     *         at most security.bloom.max.staleness.ms ago
+     */
+    public static boolean isDefinitelyAbsentEmail(String email) {
+        return isDefinitelyAbsent(ready ? emails : null, email);
+    }
+
+    /**
+     * Record a newly inserted user; call after every successful insert into users
+     * @param username the inserted username
+     * @param email the inserted email
+     */
+    public static void recordUser(String username, String email) {
+        synchronized (lock) {
+            if (usernames != null) {
+                putKeys(username, email);
+            } else if (building) {
+                pending.add(new String[]{username, email});
+            }
+        }
+    }
+
+    /**
+     * Record an email written by an update; the previous value stays as a harmless false positive
+     * @param email the new email
+     */
+    public static void recordEmail(String email) {
+        recordUser(null, email);
+    }
+
+    /**
+     * Start building the filters in the background if that has not happened yet
+     */
+    public static void warmUp() {
+        synchronized (lock) {
+            if (ready || building) {
+                return;
+            }
+            if (failedBefore && System.nanoTime() - lastFailureNanos < RETRY_AFTER_FAILURE_NANOS) {
+                return;
+            }
+            building = true;
+        }
+        Thread thread = new Thread(UserKeyFilter::build, "user-key-filter-build");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public static boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Record that a check the filters passed on to SQL found no match: a false positive, or a miss
+     * that could not be trusted at the time. Call only after a check that returned false.
+     */
+    public static void recordSqlMiss() {
+        if (ready) {
+            sqlMisses.increment();
+        }
+    }
+
+    private static boolean isDefinitelyAbsent(KeyFilter filter, String value) {
+        if (filter == null || value == null) {
+            warmUp();
+            fallThroughs.increment();
+            return false;
+        }
+        String key = normalize(value);
+        // Catch up first: the value may have been written by another client since the last look
+        if (!filter.mightContain(key) && catchUp() && !filter.mightContain(key)) {
+            definiteMisses.increment();
+            return true;
+        }
+        fallThroughs.increment();
+        return false;
+    }
+
+    /**
+     * Add rows written since the last catch-up, unless that was recent enough
+     * @return true if the filters are current to within MAX_STALENESS_NANOS
+     */
+    private static boolean catchUp() {
+        if (System.nanoTime() - refreshedAtNanos <= MAX_STALENESS_NANOS) {
+            return true;
+        }
+        // Another thread is already catching up: do not queue behind it, use SQL this once
+        if (!refreshLock.tryLock()) {
+            return false;
+        }
+        try {
+            if (System.nanoTime() - refreshedAtNanos <= MAX_STALENESS_NANOS) {
+                return true;
+            }
+            long start = System.nanoTime();
+            // The primary: a lagging replica could miss the rows we are looking for
+            try (Connection conn = DatabaseConfig.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(SELECT_CHANGED_USER_KEYS)) {
+                stmt.setTimestamp(1, new Timestamp(watermark.getTime() - WATERMARK_OVERLAP_MILLIS));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    readKeys(rs);
+                }
+            }
+            refreshedAtNanos = start;
+            refreshes.increment();
+            catchUpTimer.recordNanos(System.nanoTime() - start);
+            return true;
+        } catch (SQLException e) {
+            logger.debug("Could not refresh user key filters, using SQL: {}", e.getMessage());
+            return false;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Put every row's keys into the filters and advance the watermark; caller holds refreshLock
+     */
+    private static void readKeys(ResultSet rs) throws SQLException {
+        while (rs.next()) {
+            putKeys(rs.getString(1), rs.getString(2));
+            Timestamp updatedAt = rs.getTimestamp(3);
+            if (updatedAt != null && updatedAt.after(watermark)) {
+                watermark = updatedAt;
+            }
+        }
+    }
+
+    private static void build() {
+        long start = System.nanoTime();
+        refreshLock.lock();
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            long count;
+            try (PreparedStatement stmt = conn.prepareStatement(COUNT_USERS);
+                 ResultSet rs = stmt.executeQuery()) {
+                count = rs.next() ? rs.getLong(1) : 0;
+            }
+
+            // Leave room to grow before the false-positive rate degrades
+            long capacity = Math.max(MIN_CAPACITY, count * 2);
+            synchronized (lock) {
+                usernames = new KeyFilter(capacity);
+                emails = new KeyFilter(capacity);
+                for (String[] keys : pending) {
+                    putKeys(keys[0], keys[1]);
+                }
+                pending.clear();
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_USER_KEYS,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                stmt.setFetchSize(Integer.MIN_VALUE);
+                watermark = new Timestamp(0);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    readKeys(rs);
+                }
+            }
+
+            refreshedAtNanos = start;
+            buildMillis = (System.nanoTime() - start) / 1_000_000;
+            ready = true;
+            logger.info("User key filters built from {} users in {} ms: usernames {}, emails {}",
+                    count, buildMillis, usernames, emails);
+
+        } catch (SQLException e) {
+            logger.warn("Could not build user key filters, checks will use SQL: {}", e.getMessage());
+            synchronized (lock) {
+                usernames = null;
+                emails = null;
+                pending.clear();
+                failedBefore = true;
+                lastFailureNanos = System.nanoTime();
+            }
+        } finally {
+            refreshLock.unlock();
+            synchronized (lock) {
+                building = false;
+            }
+        }
+    }
+
+    private static void putKeys(String username, String email) {
+        if (username != null) {
+            usernames.put(normalize(username));
+        }
+        if (email != null) {
+            emails.put(normalize(email));
+        }
+    }
+
+    /**
+     * Fold a value for the filters: drop trailing spaces, lower-case ASCII, strip accents and spell
+     * out the letters utf8mb4_0900_ai_ci reads as ASCII ones. Other characters are kept as they are;
+     * {@link #trustedLength} finds the first of them.
+     */
+    static String normalize(String value) {
+        int end = value.length();
+        while (end > 0 && value.charAt(end - 1) == ' ') {
+            end--;
+        }
+        String trimmed = value.substring(0, end);
+        if (trustedLength(trimmed) == trimmed.length()) {
+            return toLowerAscii(trimmed);
+        }
+
+        String decomposed = Normalizer.normalize(trimmed, Normalizer.Form.NFKD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            String spelled = spell(c);
+            folded.append(spelled != null ? spelled : String.valueOf(c));
+        }
+        return toLowerAscii(folded.toString());
+    }
+
+    /**
+     * Letters with no decomposition that the collation weighs as ASCII letters
+     */
+    private static String spell(char c) {
+        switch (c) {
+            case '\u00DF':                 // sharp s, small and capital
+            case '\u1E9E':
+                return "ss";
+            case '\u00E6':                 // ash
+            case '\u00C6':
+                return "ae";
+            case '\u0153':                 // ethel
+            case '\u0152':
+                return "oe";
+            case '\u00F8':                 // o with stroke
+            case '\u00D8':
+                return "o";
+            case '\u0111':                 // d with stroke, eth
+            case '\u0110':
+            case '\u00F0':
+            case '\u00D0':
+                return "d";
+            case '\u0142':                 // l with stroke
+            case '\u0141':
+                return "l";
+            case '\u0127':                 // h with stroke
+            case '\u0126':
+                return "h";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return the length of the leading run of printable ASCII, the part of a folded key that
+     *         compares exactly as the collation does
+     */
+    static int trustedLength(String key) {
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < 0x20 || c > 0x7E) {
+                return i;
+            }
+        }
+        return key.length();
+    }
+
+    private static String toLowerAscii(String value) {
+        char[] chars = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                if (chars == null) {
+                    chars = value.toCharArray();
+                }
+                chars[i] = (char) (c + ('a' - 'A'));
+            }
+        }
+        return chars != null ? new String(chars) : value;
+    }
+
+    /**
+     * A Bloom filter over the fully trusted keys, and the exact trusted prefixes of the rest
+     */
+    private static final class KeyFilter {
+        private final BloomFilter keys;
+        private final Set<String> prefixes = ConcurrentHashMap.newKeySet();
+
+        KeyFilter(long capacity) {
+            this.keys = BloomFilter.create(capacity, FALSE_POSITIVE_RATE);
+        }
+
+        void put(String key) {
+            int trusted = trustedLength(key);
+            if (trusted == key.length()) {
+                keys.put(key);
+            } else {
+                prefixes.add(key.substring(0, trusted));
+            }
+        }
+
+        boolean mightContain(String key) {
+            if (trustedLength(key) != key.length() || keys.mightContain(key)) {
+                return true;
+            }
+            if (!prefixes.isEmpty()) {
+                for (int i = 0; i <= key.length(); i++) {
+                    if (prefixes.contains(key.substring(0, i))) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return keys + (prefixes.isEmpty() ? "" : " + " + prefixes.size() + " prefixes");
+        }
+    }
+
+    private static long getMemoryBytes() {
+        KeyFilter usernameFilter = usernames;
+        KeyFilter emailFilter = emails;
+        return (usernameFilter != null ? usernameFilter.keys.getMemoryBytes() : 0)
+                + (emailFilter != null ? emailFilter.keys.getMemoryBytes() : 0);
+    }
+
+    private static double getExpectedFalsePositiveRate() {
+        KeyFilter usernameFilter = usernames;
+        KeyFilter emailFilter = emails;
+        return Math.max(usernameFilter != null ? usernameFilter.keys.expectedFalsePositiveRate() : 0,
+                emailFilter != null ? emailFilter.keys.expectedFalsePositiveRate() : 0);
+    }
+
+    /**
+     * @return build and effectiveness figures for sizing the filters. Catch-up queries are counted
+     *         against checks: with few of them per check the filters keep validation off the database.
+     *         sqlMisses bounds the false positives seen in practice.
+     */
+    public static String getStats() {
+        KeyFilter usernameFilter = usernames;
+        KeyFilter emailFilter = emails;
+        long checks = definiteMisses.sum() + fallThroughs.sum();
+        long catchUps = refreshes.sum();
+        return String.format("UserKeyFilter{ready=%s, buildMs=%d, memory=%d KB, expectedFpp=%.4f, checks=%d, " +
+                "definiteMisses=%d, fallThroughs=%d, sqlMisses=%d, catchUps=%d (%.3f per check, mean %.1f ms), " +
+                "usernames=%s, emails=%s}",
+                ready, buildMillis, getMemoryBytes() / 1024, getExpectedFalsePositiveRate(), checks,
+                definiteMisses.sum(), fallThroughs.sum(), sqlMisses.sum(), catchUps,
+                checks > 0 ? (double) catchUps / checks : 0.0, catchUpTimer.getMeanMillis(),
+                usernameFilter, emailFilter);
+    }
+}
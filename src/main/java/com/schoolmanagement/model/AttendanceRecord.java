@@ -0,0 +1,81 @@
+package com.schoolmanagement.model;
+
+import java.time.LocalDate;
+
+/**
+ * Attendance model class representing one student's mark for one day in the attendance table
+ */
+public class AttendanceRecord {
+    private int studentId;
+    private int classId;
+    private LocalDate attendanceDate;
+    private Status status;
+    private String remarks;
+
+    public enum Status {
+        PRESENT, ABSENT, LATE, EXCUSED
+    }
+
+    // Constructors
+    public AttendanceRecord() {
+    }
+
+    public AttendanceRecord(int studentId, int classId, LocalDate attendanceDate, Status status, String remarks) {
+        this.studentId = studentId;
+        this.classId = classId;
+        this.attendanceDate = attendanceDate;
+        this.status = status;
+        this.remarks = remarks;
+    }
+
+    // Getters and Setters
+    public int getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(int studentId) {
+        this.studentId = studentId;
+    }
+
+    public int getClassId() {
+        return classId;
+    }
+
+    public void setClassId(int classId) {
+        this.classId = classId;
+    }
+
+    public LocalDate getAttendanceDate() {
+        return attendanceDate;
+    }
+
+    public void setAttendanceDate(LocalDate attendanceDate) {
+        this.attendanceDate = attendanceDate;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getRemarks() {
+        return remarks;
+    }
+
+    public void setRemarks(String remarks) {
+        this.remarks = remarks;
+    }
+
+    @Override
+    public String toString() {
+        return "AttendanceRecord{" +
+                "studentId=" + studentId +
+                ", classId=" + classId +
+                ", attendanceDate=" + attendanceDate +
+                ", status=" + status +
+                '}';
+    }
+}
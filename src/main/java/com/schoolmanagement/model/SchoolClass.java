@@ -0,0 +1,60 @@
+package com.schoolmanagement.model;
+
+/**
+ * Class model class representing one row of the classes table, e.g. "10A" for 2024-2025
+ */
+public class SchoolClass {
+    private int classId;
+    private String className;
+    private int gradeLevel;
+    private String academicYear;
+
+    // Constructors
+    public SchoolClass() {
+    }
+
+    public SchoolClass(int classId, String className, int gradeLevel, String academicYear) {
+        this.classId = classId;
+        this.className = className;
+        this.gradeLevel = gradeLevel;
+        this.academicYear = academicYear;
+    }
+
+    // Getters and Setters
+    public int getClassId() {
+        return classId;
+    }
+
+    public void setClassId(int classId) {
+        this.classId = classId;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public void setClassName(String className) {
+        this.className = className;
+    }
+
+    public int getGradeLevel() {
+        return gradeLevel;
+    }
+
+    public void setGradeLevel(int gradeLevel) {
+        this.gradeLevel = gradeLevel;
+    }
+
+    public String getAcademicYear() {
+        return academicYear;
+    }
+
+    public void setAcademicYear(String academicYear) {
+        this.academicYear = academicYear;
+    }
+
+    @Override
+    public String toString() {
+        return className + " (" + academicYear + ")";
+    }
+}
@@ -73,6 +73,17 @@ public class Student {
         this.updatedAt = updatedAt;
     }
     
+    // Copy constructor
+    public Student(Student other) {
+        this(other.studentId, other.userId, other.studentNumber, other.dateOfBirth, other.gender,
+             other.address, other.phoneNumber, other.parentContact, other.enrollmentDate,
+             other.graduationDate, other.isActive, other.createdAt, other.updatedAt);
+        this.firstName = other.firstName;
+        this.lastName = other.lastName;
+        this.email = other.email;
+        this.username = other.username;
+    }
+    
     // Getters and Setters
     public int getStudentId() {
         return studentId;
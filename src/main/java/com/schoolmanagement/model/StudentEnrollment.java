@@ -0,0 +1,43 @@
+package com.schoolmanagement.model;
+
+/**
+ * A student to be enrolled together with the credentials of the user account created for them
+ */
+public class StudentEnrollment {
+    private final Student student;
+    private final String username;
+    private final String password;
+    private final String email;
+
+    public StudentEnrollment(Student student, String username, String password, String email) {
+        this.student = student;
+        this.username = username;
+        this.password = password;
+        this.email = email;
+    }
+
+    public Student getStudent() {
+        return student;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return "StudentEnrollment{" +
+                "username='" + username + '\'' +
+                ", email='" + email + '\'' +
+                ", student=" + student +
+                '}';
+    }
+}
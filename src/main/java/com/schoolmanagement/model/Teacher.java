@@ -0,0 +1,99 @@
+package com.schoolmanagement.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Teacher model class representing a row of the teachers table
+ */
+public class Teacher {
+    private int teacherId;
+    private int userId;
+    private String employeeNumber;
+    private String department;
+    private String specialization;
+    private LocalDate hireDate;
+    private BigDecimal salary;
+    private boolean isActive;
+
+    // Constructors
+    public Teacher() {
+        this.isActive = true;
+    }
+
+    // Getters and Setters
+    public int getTeacherId() {
+        return teacherId;
+    }
+
+    public void setTeacherId(int teacherId) {
+        this.teacherId = teacherId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public String getEmployeeNumber() {
+        return employeeNumber;
+    }
+
+    public void setEmployeeNumber(String employeeNumber) {
+        this.employeeNumber = employeeNumber;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public String getSpecialization() {
+        return specialization;
+    }
+
+    public void setSpecialization(String specialization) {
+        this.specialization = specialization;
+    }
+
+    public LocalDate getHireDate() {
+        return hireDate;
+    }
+
+    public void setHireDate(LocalDate hireDate) {
+        this.hireDate = hireDate;
+    }
+
+    public BigDecimal getSalary() {
+        return salary;
+    }
+
+    public void setSalary(BigDecimal salary) {
+        this.salary = salary;
+    }
+
+    public boolean isActive() {
+        return isActive;
+    }
+
+    public void setActive(boolean active) {
+        isActive = active;
+    }
+
+    @Override
+    public String toString() {
+        return "Teacher{" +
+                "teacherId=" + teacherId +
+                ", employeeNumber='" + employeeNumber + '\'' +
+                ", department='" + department + '\'' +
+                ", specialization='" + specialization + '\'' +
+                ", isActive=" + isActive +
+                '}';
+    }
+}
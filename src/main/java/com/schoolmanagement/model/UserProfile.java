@@ -0,0 +1,45 @@
+package com.schoolmanagement.model;
+
+import java.util.Optional;
+
+/**
+ * An authenticated user together with the role-specific profile row loaded at login.
+ * Students carry their students row and teachers their teachers row; admins and parents
+ * have no profile table, so both are empty for them.
+ */
+public class UserProfile {
+    private final User user;
+    private final Student student;
+    private final Teacher teacher;
+
+    public UserProfile(User user) {
+        this(user, null, null);
+    }
+
+    public UserProfile(User user, Student student, Teacher teacher) {
+        this.user = user;
+        this.student = student;
+        this.teacher = teacher;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public Optional<Student> getStudent() {
+        return Optional.ofNullable(student);
+    }
+
+    public Optional<Teacher> getTeacher() {
+        return Optional.ofNullable(teacher);
+    }
+
+    @Override
+    public String toString() {
+        return "UserProfile{" +
+                "user=" + user.getUsername() +
+                ", student=" + student +
+                ", teacher=" + teacher +
+                '}';
+    }
+}
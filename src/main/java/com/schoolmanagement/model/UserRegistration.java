@@ -0,0 +1,29 @@
+package com.schoolmanagement.model;
+
+/**
+ * A user account to be created together with its initial plain text password
+ */
+public class UserRegistration {
+    private final User user;
+    private final String password;
+
+    public UserRegistration(User user, String password) {
+        this.user = user;
+        this.password = password;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String toString() {
+        return "UserRegistration{" +
+                "user=" + (user != null ? user.getUsername() : null) +
+                '}';
+    }
+}
@@ -0,0 +1,74 @@
+package com.schoolmanagement.test;
+
+import com.schoolmanagement.config.DatabaseConfig;
+import com.schoolmanagement.dao.BatchResult;
+import com.schoolmanagement.dao.UserDAO;
+import com.schoolmanagement.model.User;
+import com.schoolmanagement.model.UserRegistration;
+import com.schoolmanagement.util.PasswordUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures UserDAO.createUsers throughput against the configured database.
+ * Usage: BulkProvisioningBenchmark [sizes...] (default 1000 10000 100000).
+ * Accounts are created with a unique username prefix and deleted after each run.
+ */
+public class BulkProvisioningBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(BulkProvisioningBenchmark.class);
+    
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0 ? new int[args.length] : new int[] {1_000, 10_000, 100_000};
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        
+        UserDAO userDAO = new UserDAO();
+        logger.info("Bulk provisioning benchmark: {} cores, BCrypt cost {}",
+                Runtime.getRuntime().availableProcessors(), PasswordUtil.getWorkFactor());
+        
+        for (int size : sizes) {
+            String prefix = "bench" + System.currentTimeMillis() + "-";
+            List<UserRegistration> registrations = generate(prefix, size);
+            
+            long start = System.nanoTime();
+            BatchResult result = userDAO.createUsers(registrations);
+            long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            
+            logger.info("{} accounts: {} ms, {} accounts/s, {}", size, elapsedMs,
+                    size * 1000L / elapsedMs, result);
+            
+            int removed = cleanUp(prefix);
+            logger.info("Removed {} benchmark accounts", removed);
+        }
+        
+        DatabaseConfig.closeDataSource();
+    }
+    
+    private static List<UserRegistration> generate(String prefix, int size) {
+        List<UserRegistration> registrations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            User user = new User(prefix + i, prefix + i + "@bench.local", "Bench", "User " + i,
+                    i % 2 == 0 ? User.UserRole.PARENT : User.UserRole.TEACHER);
+            registrations.add(new UserRegistration(user, "Passw0rd" + i));
+        }
+        return registrations;
+    }
+    
+    private static int cleanUp(String prefix) {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("DELETE FROM users WHERE username LIKE ?")) {
+            stmt.setString(1, prefix + "%");
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            logger.error("Error removing benchmark accounts: {}", e.getMessage(), e);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.schoolmanagement.test;
+
+import com.schoolmanagement.config.DatabaseConfig;
+import com.schoolmanagement.dao.OfflineStore;
+import com.schoolmanagement.ui.LoginWindow;
+import com.schoolmanagement.util.MetricsRegistry;
+import com.schoolmanagement.util.PasswordUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Measures application startup with a reachable and an unreachable database.
+ * Usage: StartupBenchmark [runs] (default 3). database.* system properties are passed on to each run.
+ * <p>
+ * Every run is a fresh JVM, because the pool is static. Each run repeats SchoolManagementSystem.main's
+ * startup and records two times, both measured from JVM start: when LoginWindow.setVisible has returned
+ * on the event dispatch thread, and when the database is settled, i.e. ready or given up on. Before
+ * startup was made asynchronous, the login window waited for the second. Needs a display.
+ */
+public class StartupBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(StartupBenchmark.class);
+    private static final String CHILD = "--child";
+    private static final String RESULT = "STARTUP-RESULT";
+    private static final String ERROR = "STARTUP-ERROR";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals(CHILD)) {
+            runChild();
+            return;
+        }
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+
+        measure("reachable", runs);
+        // A non-routable address: connecting hangs until the driver or pool gives up
+        measure("unreachable", runs, "-Ddatabase.host=10.255.255.1");
+    }
+
+    private static void measure(String scenario, int runs, String... properties) throws IOException, InterruptedException {
+        List<Long> windowTimes = new ArrayList<>();
+        List<Long> settledTimes = new ArrayList<>();
+        String connected = "?";
+        for (int i = 0; i < runs; i++) {
+            String[] result = runJvm(properties);
+            if (result == null) {
+                logger.warn("{}: run {} produced no result", scenario, i + 1);
+                continue;
+            }
+            windowTimes.add(Long.parseLong(result[1]));
+            settledTimes.add(Long.parseLong(result[2]));
+            connected = result[3];
+        }
+        if (windowTimes.isEmpty()) {
+            return;
+        }
+        logger.info("{} (connected={}, {} runs): login window after {} ms, database settled after {} ms (medians)",
+                scenario, connected, windowTimes.size(), median(windowTimes), median(settledTimes));
+    }
+
+    private static String[] runJvm(String... properties) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("database.") || name.startsWith("offline.")) {
+                command.add("-D" + name + "=" + System.getProperty(name));
+            }
+        }
+        command.addAll(Arrays.asList(properties));
+        command.add(StartupBenchmark.class.getName());
+        command.add(CHILD);
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String[] result = null;
+        String error = null;
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (line.startsWith(RESULT)) {
+                    result = line.split(" ");
+                } else if (line.startsWith(ERROR)) {
+                    error = line.substring(ERROR.length()).trim();
+                }
+            }
+        }
+        if (process.waitFor() != 0) {
+            logger.warn("Startup run exited with {}: {}", process.exitValue(), error);
+        }
+        return result;
+    }
+
+    private static void runChild() throws Exception {
+        // The same steps, in the same order, as SchoolManagementSystem.main
+        PasswordUtil.calibrateInBackground();
+        MetricsRegistry.getInstance().start();
+        CompletableFuture<Boolean> database = DatabaseConfig.startAsync();
+        OfflineStore.getInstance();
+        try {
+            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+        } catch (Exception e) {
+            logger.warn("Could not set system look and feel", e);
+        }
+
+        LoginWindow[] window = new LoginWindow[1];
+        try {
+            SwingUtilities.invokeAndWait(() -> {
+                window[0] = new LoginWindow();
+                window[0].setVisible(true);
+                window[0].trackDatabaseStartup(database);
+            });
+        } catch (InvocationTargetException e) {
+            System.out.println(ERROR + " " + e.getCause());
+            System.exit(1);
+        }
+        long windowMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        boolean connected = database.join();
+        long settledMs = ManagementFactory.getRuntimeMXBean().getUptime();
+
+        System.out.println(RESULT + " " + windowMs + " " + settledMs + " " + connected);
+        SwingUtilities.invokeAndWait(window[0]::dispose);
+        DatabaseConfig.closeDataSource();
+        System.exit(0);
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
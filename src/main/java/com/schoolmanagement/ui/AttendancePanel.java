@@ -0,0 +1,373 @@
+package com.schoolmanagement.ui;
+
+import com.schoolmanagement.dao.AsyncAttendanceDAO;
+import com.schoolmanagement.dao.OfflineStore;
+import com.schoolmanagement.model.AttendanceRecord;
+import com.schoolmanagement.model.SchoolClass;
+import com.schoolmanagement.model.StudentSummary;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Attendance sheet for one class and day: lists the class's students with their marks and saves
+ * the marks changed since loading. Database calls run through AsyncAttendanceDAO, so the sheet
+ * keeps working, from the local cache and journal, while the database is unreachable.
+ */
+public class AttendancePanel extends JPanel {
+    private static final long serialVersionUID = 1L;
+
+    private static final int STATUS_COLUMN = 2;
+    private static final int REMARKS_COLUMN = 3;
+
+    private static final Color BACKGROUND_COLOR = new Color(60, 60, 80);
+    private static final Color HEADER_COLOR = new Color(70, 70, 90);
+    private static final Color GRID_COLOR = new Color(90, 90, 110);
+    private static final Color PRESENT_COLOR = new Color(46, 204, 113);
+    private static final Color ABSENT_COLOR = new Color(231, 76, 60);
+    private static final Color LATE_COLOR = new Color(241, 196, 15);
+    private static final Color STATUS_COLOR = new Color(200, 200, 210);
+
+    private final AsyncAttendanceDAO attendanceDAO;
+    private final Integer teacherId;
+
+    private JComboBox<SchoolClass> classComboBox;
+    private JTextField dateField;
+    private JButton loadButton, presentButton, absentButton, lateButton, saveButton;
+    private DefaultTableModel tableModel;
+    private JTable attendanceTable;
+    private JLabel statusLabel;
+
+    // The sheet on screen: which class and day, which student each row is, and the marks as loaded
+    private int loadedClassId;
+    private LocalDate loadedDate;
+    private final List<Integer> rowStudentIds = new ArrayList<>();
+    private final Map<Integer, AttendanceRecord> loadedMarks = new HashMap<>();
+    private CompletableFuture<Sheet> pendingLoad;
+
+    /**
+     * @param teacherId the teacher whose classes are offered, or null for all classes
+     */
+    public AttendancePanel(Integer teacherId) {
+        this.attendanceDAO = new AsyncAttendanceDAO();
+        this.teacherId = teacherId;
+        initializeComponents();
+        setupLayout();
+        setupEventListeners();
+        loadClasses();
+    }
+
+    private void initializeComponents() {
+        setLayout(new BorderLayout());
+        setBackground(BACKGROUND_COLOR);
+        setBorder(new EmptyBorder(20, 20, 20, 20));
+
+        classComboBox = new JComboBox<>();
+        classComboBox.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        dateField = new JTextField(LocalDate.now().toString(), 10);
+        dateField.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        dateField.setToolTipText("yyyy-MM-dd");
+
+        loadButton = createButton("Load", new Color(41, 128, 185));
+        presentButton = createButton("Mark Present", PRESENT_COLOR);
+        absentButton = createButton("Mark Absent", ABSENT_COLOR);
+        lateButton = createButton("Mark Late", LATE_COLOR);
+        saveButton = createButton("Save", new Color(52, 73, 94));
+        setSheetEnabled(false);
+
+        String[] columnNames = {"Student Number", "Student Name", "Status", "Remarks"};
+        tableModel = new DefaultTableModel(columnNames, 0) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return column == STATUS_COLUMN || column == REMARKS_COLUMN;
+            }
+        };
+        attendanceTable = new JTable(tableModel);
+        attendanceTable.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        attendanceTable.getTableHeader().setFont(new Font("Segoe UI", Font.BOLD, 12));
+        attendanceTable.getTableHeader().setBackground(HEADER_COLOR);
+        attendanceTable.getTableHeader().setForeground(Color.WHITE);
+        attendanceTable.setRowHeight(25);
+        attendanceTable.setGridColor(GRID_COLOR);
+        attendanceTable.setShowVerticalLines(false);
+        attendanceTable.setSelectionBackground(new Color(100, 100, 120));
+        attendanceTable.setSelectionForeground(Color.WHITE);
+
+        JComboBox<String> statusEditor = new JComboBox<>();
+        statusEditor.addItem("");
+        for (AttendanceRecord.Status status : AttendanceRecord.Status.values()) {
+            statusEditor.addItem(status.name());
+        }
+        attendanceTable.getColumnModel().getColumn(STATUS_COLUMN).setCellEditor(new DefaultCellEditor(statusEditor));
+        attendanceTable.getColumnModel().getColumn(STATUS_COLUMN).setCellRenderer(new StatusRenderer());
+
+        statusLabel = new JLabel(" ");
+        statusLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        statusLabel.setForeground(STATUS_COLOR);
+    }
+
+    private JButton createButton(String text, Color color) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Segoe UI", Font.BOLD, 12));
+        button.setBackground(color);
+        button.setForeground(Color.WHITE);
+        return button;
+    }
+
+    private void setupLayout() {
+        JPanel header = new JPanel(new BorderLayout());
+        header.setBackground(BACKGROUND_COLOR);
+
+        JLabel titleLabel = new JLabel("Attendance Management");
+        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 18));
+        titleLabel.setForeground(Color.WHITE);
+        titleLabel.setBorder(new EmptyBorder(0, 0, 10, 0));
+        header.add(titleLabel, BorderLayout.NORTH);
+
+        JPanel selector = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
+        selector.setBackground(BACKGROUND_COLOR);
+        selector.add(createLabel("Class:"));
+        selector.add(classComboBox);
+        selector.add(createLabel("Date:"));
+        selector.add(dateField);
+        selector.add(loadButton);
+        header.add(selector, BorderLayout.CENTER);
+        add(header, BorderLayout.NORTH);
+
+        JScrollPane scrollPane = new JScrollPane(attendanceTable);
+        scrollPane.setBorder(BorderFactory.createLineBorder(GRID_COLOR, 1));
+        scrollPane.getViewport().setBackground(Color.WHITE);
+        add(scrollPane, BorderLayout.CENTER);
+
+        JPanel controlPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 15, 10));
+        controlPanel.setBackground(BACKGROUND_COLOR);
+        controlPanel.add(presentButton);
+        controlPanel.add(absentButton);
+        controlPanel.add(lateButton);
+        controlPanel.add(saveButton);
+        controlPanel.add(statusLabel);
+        add(controlPanel, BorderLayout.SOUTH);
+    }
+
+    private JLabel createLabel(String text) {
+        JLabel label = new JLabel(text);
+        label.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        label.setForeground(Color.WHITE);
+        return label;
+    }
+
+    private void setupEventListeners() {
+        loadButton.addActionListener(e -> loadSheet());
+        classComboBox.addActionListener(e -> loadSheet());
+        dateField.addActionListener(e -> loadSheet());
+        presentButton.addActionListener(e -> markSelected(AttendanceRecord.Status.PRESENT));
+        absentButton.addActionListener(e -> markSelected(AttendanceRecord.Status.ABSENT));
+        lateButton.addActionListener(e -> markSelected(AttendanceRecord.Status.LATE));
+        saveButton.addActionListener(e -> saveSheet());
+    }
+
+    private void loadClasses() {
+        showStatus("Loading classes...", STATUS_COLOR);
+        EdtExecutor.deliver(attendanceDAO.getClasses(teacherId),
+            classes -> {
+                if (classes.isEmpty()) {
+                    showStatus("No classes to take attendance for", STATUS_COLOR);
+                    return;
+                }
+                // Selecting the first class loads its sheet through the combo box listener
+                classes.forEach(classComboBox::addItem);
+            },
+            error -> showStatus("Error loading classes: " + error.getMessage(), ABSENT_COLOR));
+    }
+
+    private void loadSheet() {
+        SchoolClass selected = (SchoolClass) classComboBox.getSelectedItem();
+        if (selected == null) {
+            return;
+        }
+        LocalDate date;
+        try {
+            date = LocalDate.parse(dateField.getText().trim());
+        } catch (DateTimeParseException e) {
+            showStatus("Enter the date as yyyy-MM-dd", ABSENT_COLOR);
+            return;
+        }
+
+        if (pendingLoad != null) {
+            pendingLoad.cancel(true); // another class or day supersedes the sheet still loading
+        }
+        setSheetEnabled(false);
+        showStatus("Loading attendance...", STATUS_COLOR);
+
+        int classId = selected.getClassId();
+        CompletableFuture<Sheet> load = attendanceDAO.getClassStudents(classId)
+            .thenCombine(attendanceDAO.getClassAttendance(classId, date), Sheet::new);
+        pendingLoad = load;
+
+        EdtExecutor.deliver(load,
+            sheet -> {
+                if (pendingLoad != load) {
+                    return;
+                }
+                pendingLoad = null;
+                showSheet(classId, date, sheet);
+            },
+            error -> {
+                if (pendingLoad != load) {
+                    return;
+                }
+                pendingLoad = null;
+                showStatus("Error loading attendance: " + error.getMessage(), ABSENT_COLOR);
+            });
+    }
+
+    private void showSheet(int classId, LocalDate date, Sheet sheet) {
+        loadedClassId = classId;
+        loadedDate = date;
+        rowStudentIds.clear();
+        loadedMarks.clear();
+        loadedMarks.putAll(sheet.marks);
+        tableModel.setRowCount(0);
+        for (StudentSummary student : sheet.students) {
+            AttendanceRecord mark = sheet.marks.get(student.getStudentId());
+            rowStudentIds.add(student.getStudentId());
+            tableModel.addRow(new Object[] {
+                student.getStudentNumber(),
+                student.getFullName(),
+                mark != null ? mark.getStatus().name() : "",
+                mark != null && mark.getRemarks() != null ? mark.getRemarks() : ""
+            });
+        }
+        setSheetEnabled(!sheet.students.isEmpty());
+        if (sheet.students.isEmpty()) {
+            showStatus(OfflineStore.getInstance().isOffline()
+                    ? "Offline: this class has not been opened on this machine before"
+                    : "No students enrolled in this class", STATUS_COLOR);
+        } else {
+            showStatus(String.format("%d students, %d marked", sheet.students.size(), sheet.marks.size()), STATUS_COLOR);
+        }
+    }
+
+    private void markSelected(AttendanceRecord.Status status) {
+        int[] rows = attendanceTable.getSelectedRows();
+        if (rows.length == 0) {
+            showStatus("Select the students to mark first", STATUS_COLOR);
+            return;
+        }
+        stopEditing();
+        for (int row : rows) {
+            tableModel.setValueAt(status.name(), attendanceTable.convertRowIndexToModel(row), STATUS_COLUMN);
+        }
+    }
+
+    private void saveSheet() {
+        stopEditing();
+        List<AttendanceRecord> changed = new ArrayList<>();
+        for (int row = 0; row < tableModel.getRowCount(); row++) {
+            String status = (String) tableModel.getValueAt(row, STATUS_COLUMN);
+            if (status == null || status.isEmpty()) {
+                continue; // a mark cannot be removed here, only changed
+            }
+            String remarks = ((String) tableModel.getValueAt(row, REMARKS_COLUMN)).trim();
+            AttendanceRecord mark = new AttendanceRecord(rowStudentIds.get(row), loadedClassId, loadedDate,
+                    AttendanceRecord.Status.valueOf(status), remarks.isEmpty() ? null : remarks);
+            AttendanceRecord loaded = loadedMarks.get(mark.getStudentId());
+            if (loaded == null || loaded.getStatus() != mark.getStatus()
+                    || !Objects.equals(loaded.getRemarks(), mark.getRemarks())) {
+                changed.add(mark);
+            }
+        }
+        if (changed.isEmpty()) {
+            showStatus("No changes to save", STATUS_COLOR);
+            return;
+        }
+
+        saveButton.setEnabled(false);
+        showStatus("Saving " + changed.size() + " marks...", STATUS_COLOR);
+        EdtExecutor.deliver(attendanceDAO.recordAttendance(changed),
+            saved -> {
+                saveButton.setEnabled(true);
+                if (!saved) {
+                    showStatus("Attendance could not be saved", ABSENT_COLOR);
+                    return;
+                }
+                changed.forEach(mark -> loadedMarks.put(mark.getStudentId(), mark));
+                showStatus(OfflineStore.getInstance().isOffline()
+                        ? "Saved " + changed.size() + " marks offline; they will be sent when the database is back"
+                        : "Saved " + changed.size() + " marks", PRESENT_COLOR);
+            },
+            error -> {
+                saveButton.setEnabled(true);
+                showStatus("Error saving attendance: " + error.getMessage(), ABSENT_COLOR);
+            });
+    }
+
+    private void stopEditing() {
+        if (attendanceTable.isEditing()) {
+            attendanceTable.getCellEditor().stopCellEditing();
+        }
+    }
+
+    private void setSheetEnabled(boolean enabled) {
+        presentButton.setEnabled(enabled);
+        absentButton.setEnabled(enabled);
+        lateButton.setEnabled(enabled);
+        saveButton.setEnabled(enabled);
+    }
+
+    private void showStatus(String message, Color color) {
+        statusLabel.setText(message);
+        statusLabel.setForeground(color);
+    }
+
+    /**
+     * A class's students and their marks for the day, loaded together
+     */
+    private static final class Sheet {
+        private final List<StudentSummary> students;
+        private final Map<Integer, AttendanceRecord> marks;
+
+        private Sheet(List<StudentSummary> students, Map<Integer, AttendanceRecord> marks) {
+            this.students = students;
+            this.marks = marks;
+        }
+    }
+
+    /**
+     * Colours the status column by mark
+     */
+    private static final class StatusRenderer extends DefaultTableCellRenderer {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                       boolean hasFocus, int row, int column) {
+            Component component = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+            if (!isSelected) {
+                if ("PRESENT".equals(value)) {
+                    component.setForeground(PRESENT_COLOR.darker());
+                } else if ("ABSENT".equals(value)) {
+                    component.setForeground(ABSENT_COLOR);
+                } else if ("LATE".equals(value)) {
+                    component.setForeground(LATE_COLOR.darker());
+                } else {
+                    component.setForeground(Color.DARK_GRAY);
+                }
+            }
+            return component;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.schoolmanagement.ui;
+
+import javax.swing.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Executor that runs callbacks on the Swing Event Dispatch Thread
+ */
+public final class EdtExecutor implements Executor {
+    public static final EdtExecutor INSTANCE = new EdtExecutor();
+
+    private EdtExecutor() {
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            command.run();
+        } else {
+            SwingUtilities.invokeLater(command);
+        }
+    }
+
+    /**
+     * Deliver the outcome of an asynchronous call on the EDT.
+     * Nothing is delivered if the future was cancelled.
+     * @param future the pending call
+     * @param onSuccess invoked on the EDT with the result
+     * @param onError invoked on the EDT with the underlying failure
+     */
+    public static <T> void deliver(CompletableFuture<T> future, Consumer<? super T> onSuccess,
+                                   Consumer<? super Throwable> onError) {
+        future.whenCompleteAsync((result, error) -> {
+            if (error == null) {
+                onSuccess.accept(result);
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            if (!(cause instanceof CancellationException)) {
+                onError.accept(cause);
+            }
+        }, INSTANCE);
+    }
+}
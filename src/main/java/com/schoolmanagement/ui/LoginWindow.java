@@ -1,8 +1,11 @@
 package com.schoolmanagement.ui;
 
 import com.schoolmanagement.config.AppConfig;
-import com.schoolmanagement.dao.UserDAO;
+import com.schoolmanagement.dao.AsyncUserDAO;
 import com.schoolmanagement.model.User;
+import com.schoolmanagement.model.UserProfile;
+import com.schoolmanagement.util.LoginThrottledException;
+import com.schoolmanagement.util.SessionStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,6 +15,8 @@ import java.awt.event.*;
 import java.awt.image.BufferedImage;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Enhanced Login Window with modern UI design
@@ -24,7 +29,7 @@ public class LoginWindow extends JFrame {
     private JComboBox<String> roleComboBox;
     private JButton loginButton;
     private JLabel statusLabel;
-    private UserDAO userDAO;
+    private AsyncUserDAO asyncUserDAO;
     
     // Modern UI Colors
     private static final Color PRIMARY_COLOR = new Color(41, 128, 185);
@@ -38,7 +43,7 @@ public class LoginWindow extends JFrame {
     private static final Color BORDER_COLOR = new Color(221, 221, 221);
 
     public LoginWindow() {
-        this.userDAO = new UserDAO();
+        this.asyncUserDAO = new AsyncUserDAO();
         initializeComponents();
         setupLayout();
         setupEventHandlers();
@@ -351,56 +356,59 @@ public class LoginWindow extends JFrame {
         showStatus("Authenticating...", Color.BLUE);
         loginButton.setEnabled(false);
         
-        // Perform authentication in a separate thread to avoid blocking UI
-        new Thread(() -> {
-            try {
-                Optional<User> userOpt = userDAO.authenticateUser(username, password);
+        // Perform authentication on the DAO executor to avoid blocking UI; results come back on the EDT
+        EdtExecutor.deliver(asyncUserDAO.authenticateProfile(username, password),
+            profileOpt -> {
+                loginButton.setEnabled(true);
                 
-                if (userOpt.isPresent()) {
-                    User user = userOpt.get();
+                if (profileOpt.isPresent()) {
+                    User user = profileOpt.get().getUser();
                     
                     // Check if user role matches selected role
                     if (!user.getRole().name().toLowerCase().equals(selectedRole)) {
-                        SwingUtilities.invokeLater(() -> {
-                            showStatus("Invalid role for this user", Color.RED);
-                            passwordField.setText("");
-                            passwordField.requestFocus();
-                        });
+                        showStatus("Invalid role for this user", Color.RED);
+                        passwordField.setText("");
+                        passwordField.requestFocus();
                         return;
                     }
                     
                     logger.info("User {} logged in successfully", user.getUsername());
                     
                     // Clear password field for security
-                    SwingUtilities.invokeLater(() -> passwordField.setText(""));
+                    passwordField.setText("");
                     
                     // Close login window and open main application
-                    SwingUtilities.invokeLater(() -> {
-                        dispose();
-                        openMainApplication(user);
-                    });
+                    dispose();
+                    openMainApplication(profileOpt.get());
                 } else {
-                    SwingUtilities.invokeLater(() -> {
-                        showStatus("Invalid username or password", Color.RED);
-                        passwordField.setText("");
-                        passwordField.requestFocus();
-                    });
+                    showStatus("Invalid username or password", Color.RED);
+                    passwordField.setText("");
+                    passwordField.requestFocus();
                 }
-            } catch (Exception e) {
-                logger.error("Login error", e);
-                SwingUtilities.invokeLater(() -> {
+            },
+            error -> {
+                loginButton.setEnabled(true);
+                if (error instanceof LoginThrottledException) {
+                    long seconds = (((LoginThrottledException) error).getRetryAfterMillis() + 999) / 1000;
+                    logger.warn("Login throttled: {}", error.getMessage());
+                    showStatus("Too many login attempts. Try again in " + seconds + " s.", Color.RED);
+                } else if (error instanceof RejectedExecutionException) {
+                    logger.warn("Login rejected: {}", error.getMessage());
+                    showStatus("Server is busy. Please try again in a moment.", Color.RED);
+                } else {
+                    logger.error("Login error", error);
                     showStatus("Login failed. Please try again.", Color.RED);
-                });
-            } finally {
-                SwingUtilities.invokeLater(() -> loginButton.setEnabled(true));
-            }
-        }).start();
+                }
+            });
     }
 
-    private void openMainApplication(User user) {
+    private void openMainApplication(UserProfile profile) {
+        User user = profile.getUser();
         logger.info("openMainApplication: Creating MainWindow for user {}", user.getUsername());
         try {
-            MainWindow mainWindow = new MainWindow(user);
+            // BCrypt ran once for this login; the rest of the session is checked by token
+            String sessionToken = SessionStore.getInstance().createSession(profile);
+            MainWindow mainWindow = new MainWindow(profile, sessionToken);
             mainWindow.setVisible(true);
             logger.info("openMainApplication: MainWindow created and set visible");
         } catch (Exception e) {
@@ -410,6 +418,25 @@ public class LoginWindow extends JFrame {
         }
     }
 
+    /**
+     * Report database startup in the status line while the user types their credentials
+     * @param startup completes with true when the database is ready, false when offline
+     */
+    public void trackDatabaseStartup(CompletableFuture<Boolean> startup) {
+        if (!startup.isDone()) {
+            showStatus("Connecting to database...", LIGHT_TEXT_COLOR);
+        }
+        EdtExecutor.deliver(startup,
+            connected -> {
+                if (connected) {
+                    showStatus("Sign in to continue", new Color(100, 100, 100));
+                } else {
+                    showStatus("Database unavailable - offline mode", ERROR_COLOR);
+                }
+            },
+            error -> showStatus("Database unavailable - offline mode", ERROR_COLOR));
+    }
+
     private void showStatus(String message, Color color) {
         statusLabel.setText(message);
         statusLabel.setForeground(color);
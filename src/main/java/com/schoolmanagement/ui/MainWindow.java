@@ -1,7 +1,11 @@
 package com.schoolmanagement.ui;
 
 import com.schoolmanagement.config.AppConfig;
+import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.Teacher;
 import com.schoolmanagement.model.User;
+import com.schoolmanagement.model.UserProfile;
+import com.schoolmanagement.util.SessionStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,6 +16,9 @@ import java.awt.event.*;
 import java.awt.image.BufferedImage;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Main application window for the School Management System
@@ -20,11 +27,18 @@ public class MainWindow extends JFrame {
     private static final Logger logger = LoggerFactory.getLogger(MainWindow.class);
     
     private User currentUser;
+    private UserProfile currentProfile;
+    private String sessionToken;
     private JMenuBar menuBar;
     private JTabbedPane tabbedPane;
     private JLabel statusBar;
     private JLabel dateTimeLabel;
     private Timer clockTimer;
+    private AWTEventListener activityListener;
+    private long lastSessionCheckNanos;
+    
+    // User activity refreshes the session's sliding expiry at most this often
+    private static final long SESSION_CHECK_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
     
     // Modern UI Colors
     private static final Color PRIMARY_COLOR = new Color(41, 128, 185);
@@ -37,8 +51,23 @@ public class MainWindow extends JFrame {
     private static final Color BORDER_COLOR = new Color(221, 221, 221);
 
     public MainWindow(User user) {
+        this(user, null);
+    }
+    
+    public MainWindow(User user, String sessionToken) {
+        this(new UserProfile(user), sessionToken);
+    }
+    
+    /**
+     * @param profile the user and the role profile loaded with them at login
+     * @param sessionToken the session token, invalidated on logout
+     */
+    public MainWindow(UserProfile profile, String sessionToken) {
+        User user = profile.getUser();
         logger.info("MainWindow constructor starting for user: {}", user.getUsername());
         this.currentUser = user;
+        this.currentProfile = profile;
+        this.sessionToken = sessionToken;
         logger.info("Step 1: initializeComponents");
         initializeComponents();
         logger.info("Step 2: setupLayout");
@@ -62,6 +91,8 @@ public class MainWindow extends JFrame {
         this.currentUser.setRole(User.UserRole.ADMIN);
         this.currentUser.setFirstName("Test");
         this.currentUser.setLastName("User");
+        this.currentUser.setActive(true);
+        this.currentProfile = new UserProfile(currentUser);
         
         initializeComponents();
         setupLayout();
@@ -186,6 +217,10 @@ public class MainWindow extends JFrame {
         JPanel dashboardPanel = createDashboardPanel();
         tabbedPane.addTab("Dashboard", dashboardPanel);
         
+        // My Profile tab
+        JPanel profilePanel = createProfilePanel();
+        tabbedPane.addTab("My Profile", profilePanel);
+        
         // My Classes tab
         JPanel myClassesPanel = createMyClassesPanel();
         tabbedPane.addTab("My Classes", myClassesPanel);
@@ -763,84 +798,9 @@ public class MainWindow extends JFrame {
     }
 
     private JPanel createAttendancePanel() {
-        JPanel panel = new JPanel(new BorderLayout());
-        panel.setBackground(new Color(60, 60, 80));
-        panel.setBorder(new EmptyBorder(20, 20, 20, 20));
-        
-        // Title
-        JLabel titleLabel = new JLabel("Attendance Management");
-        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 18));
-        titleLabel.setForeground(Color.WHITE);
-        titleLabel.setBorder(new EmptyBorder(0, 0, 20, 0));
-        panel.add(titleLabel, BorderLayout.NORTH);
-        
-        // Attendance table
-        String[] columnNames = {"Student ID", "Student Name", "Class", "Date", "Status", "Notes"};
-        Object[][] attendanceData = {
-            {"STU-001", "John Smith", "Mathematics 10A", "2024-01-15", "Present", ""},
-            {"STU-002", "Sarah Johnson", "Mathematics 10A", "2024-01-15", "Present", ""},
-            {"STU-003", "Mike Brown", "Mathematics 10A", "2024-01-15", "Absent", "Sick leave"},
-            {"STU-004", "Emma Davis", "Mathematics 10A", "2024-01-15", "Present", ""},
-            {"STU-005", "Alex Wilson", "Mathematics 10A", "2024-01-15", "Late", "10 minutes late"},
-            {"STU-006", "Lisa Garcia", "Mathematics 10A", "2024-01-15", "Present", ""},
-            {"STU-007", "Tom Miller", "Mathematics 10A", "2024-01-15", "Present", ""},
-            {"STU-008", "Amy Rodriguez", "Mathematics 10A", "2024-01-15", "Absent", "Family emergency"}
-        };
-        
-        JTable attendanceTable = new JTable(attendanceData, columnNames);
-        attendanceTable.setFont(new Font("Segoe UI", Font.PLAIN, 12));
-        attendanceTable.getTableHeader().setFont(new Font("Segoe UI", Font.BOLD, 12));
-        attendanceTable.getTableHeader().setBackground(new Color(70, 70, 90));
-        attendanceTable.getTableHeader().setForeground(Color.WHITE);
-        attendanceTable.setRowHeight(25);
-        attendanceTable.setGridColor(new Color(90, 90, 110));
-        attendanceTable.setShowGrid(true);
-        attendanceTable.setShowHorizontalLines(true);
-        attendanceTable.setShowVerticalLines(false);
-        attendanceTable.setSelectionBackground(new Color(100, 100, 120));
-        attendanceTable.setSelectionForeground(Color.WHITE);
-        
-        JScrollPane scrollPane = new JScrollPane(attendanceTable);
-        scrollPane.setBorder(BorderFactory.createCompoundBorder(
-            BorderFactory.createLineBorder(new Color(90, 90, 110), 1),
-            BorderFactory.createEmptyBorder(10, 10, 10, 10)
-        ));
-        scrollPane.getViewport().setBackground(Color.WHITE);
-        
-        panel.add(scrollPane, BorderLayout.CENTER);
-        
-        // Control panel
-        JPanel controlPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 15, 10));
-        controlPanel.setBackground(new Color(60, 60, 80));
-        controlPanel.setBorder(new EmptyBorder(20, 0, 0, 0));
-        
-        JLabel dateLabel = new JLabel("Date: 2024-01-15");
-        dateLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
-        dateLabel.setForeground(Color.WHITE);
-        
-        JButton markPresentButton = new JButton("Mark Present");
-        markPresentButton.setFont(new Font("Segoe UI", Font.BOLD, 12));
-        markPresentButton.setBackground(new Color(46, 204, 113));
-        markPresentButton.setForeground(Color.WHITE);
-        
-        JButton markAbsentButton = new JButton("Mark Absent");
-        markAbsentButton.setFont(new Font("Segoe UI", Font.BOLD, 12));
-        markAbsentButton.setBackground(new Color(231, 76, 60));
-        markAbsentButton.setForeground(Color.WHITE);
-        
-        JButton markLateButton = new JButton("Mark Late");
-        markLateButton.setFont(new Font("Segoe UI", Font.BOLD, 12));
-        markLateButton.setBackground(new Color(241, 196, 15));
-        markLateButton.setForeground(Color.WHITE);
-        
-        controlPanel.add(dateLabel);
-        controlPanel.add(markPresentButton);
-        controlPanel.add(markAbsentButton);
-        controlPanel.add(markLateButton);
-        
-        panel.add(controlPanel, BorderLayout.SOUTH);
-        
-        return panel;
+        // A teacher takes attendance for their own classes
+        Integer teacherId = currentProfile.getTeacher().map(Teacher::getTeacherId).orElse(null);
+        return new AttendancePanel(teacherId);
     }
 
     private JPanel createGradesPanel() {
@@ -943,17 +903,20 @@ public class MainWindow extends JFrame {
         gbc.insets = new Insets(10, 10, 10, 10);
         gbc.anchor = GridBagConstraints.WEST;
         
-        // Sample profile data
-        String[][] profileData = {
-            {"Username:", currentUser.getUsername()},
-            {"Full Name:", currentUser.getFirstName() + " " + currentUser.getLastName()},
-            {"Role:", currentUser.getRole().toString()},
-            {"Email:", currentUser.getEmail() != null ? currentUser.getEmail() : "Not provided"},
-            {"Phone:", "(555) 123-4567"}, // Placeholder phone since getPhone() method doesn't exist
-            {"Status:", "Active"},
-            {"Last Login:", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"))},
-            {"Member Since:", "2024-01-15"}
-        };
+        // Role profile rows were loaded together with the user at login, so no query here
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[] {"Username:", currentUser.getUsername()});
+        rows.add(new String[] {"Full Name:", currentUser.getFirstName() + " " + currentUser.getLastName()});
+        rows.add(new String[] {"Role:", currentUser.getRole().toString()});
+        rows.add(new String[] {"Email:", currentUser.getEmail() != null ? currentUser.getEmail() : "Not provided"});
+        currentProfile.getStudent().ifPresent(student -> addStudentProfileRows(rows, student));
+        currentProfile.getTeacher().ifPresent(teacher -> addTeacherProfileRows(rows, teacher));
+        rows.add(new String[] {"Status:", currentUser.isActive() ? "Active" : "Inactive"});
+        rows.add(new String[] {"Last Login:", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"))});
+        if (currentUser.getCreatedAt() != null) {
+            rows.add(new String[] {"Member Since:", currentUser.getCreatedAt().toLocalDate().toString()});
+        }
+        String[][] profileData = rows.toArray(new String[0][]);
         
         for (int i = 0; i < profileData.length; i++) {
             gbc.gridx = 0;
@@ -975,6 +938,26 @@ public class MainWindow extends JFrame {
         return panel;
     }
 
+    private void addStudentProfileRows(List<String[]> rows, Student student) {
+        rows.add(new String[] {"Student Number:", student.getStudentNumber()});
+        rows.add(new String[] {"Phone:", valueOrNotProvided(student.getPhoneNumber())});
+        rows.add(new String[] {"Date of Birth:", valueOrNotProvided(student.getDateOfBirth())});
+        rows.add(new String[] {"Address:", valueOrNotProvided(student.getAddress())});
+        rows.add(new String[] {"Parent Contact:", valueOrNotProvided(student.getParentContact())});
+        rows.add(new String[] {"Enrollment Date:", valueOrNotProvided(student.getEnrollmentDate())});
+    }
+
+    private void addTeacherProfileRows(List<String[]> rows, Teacher teacher) {
+        rows.add(new String[] {"Employee Number:", teacher.getEmployeeNumber()});
+        rows.add(new String[] {"Department:", valueOrNotProvided(teacher.getDepartment())});
+        rows.add(new String[] {"Specialization:", valueOrNotProvided(teacher.getSpecialization())});
+        rows.add(new String[] {"Hire Date:", valueOrNotProvided(teacher.getHireDate())});
+    }
+
+    private static String valueOrNotProvided(Object value) {
+        return value != null ? value.toString() : "Not provided";
+    }
+
     private JPanel createStudentGradesPanel() {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBackground(new Color(245, 245, 250));
@@ -1380,6 +1363,56 @@ public class MainWindow extends JFrame {
                 logout();
             }
         });
+        
+        if (sessionToken != null) {
+            // Keyboard and mouse use in this window keeps the session alive and notices when it has expired
+            activityListener = event -> {
+                Object source = event.getSource();
+                if (source instanceof Component
+                        && (source == this || SwingUtilities.getWindowAncestor((Component) source) == this)
+                        && System.nanoTime() - lastSessionCheckNanos >= SESSION_CHECK_INTERVAL_NANOS) {
+                    checkSession();
+                }
+            };
+            Toolkit.getDefaultToolkit().addAWTEventListener(activityListener,
+                    AWTEvent.KEY_EVENT_MASK | AWTEvent.MOUSE_EVENT_MASK);
+            // Opening another module always re-checks the session
+            tabbedPane.addChangeListener(e -> checkSession());
+        }
+    }
+    
+    /**
+     * Validate the session, extending its expiry; log out if it has expired or was ended
+     * @return true if the session is still valid
+     */
+    private boolean checkSession() {
+        lastSessionCheckNanos = System.nanoTime();
+        if (sessionToken == null) {
+            return true;
+        }
+        if (SessionStore.getInstance().validate(sessionToken).isPresent()) {
+            return true;
+        }
+        
+        logger.info("Session of user {} expired", currentUser.getUsername());
+        sessionToken = null; // the dialog below pumps events; do not check again
+        dispose();
+        JOptionPane.showMessageDialog(null,
+            "Your session has expired. Please sign in again.",
+            "Session Expired",
+            JOptionPane.INFORMATION_MESSAGE);
+        new LoginWindow().setVisible(true);
+        return false;
+    }
+    
+    @Override
+    public void dispose() {
+        if (activityListener != null) {
+            Toolkit.getDefaultToolkit().removeAWTEventListener(activityListener);
+            activityListener = null;
+        }
+        clockTimer.stop();
+        super.dispose();
     }
 
     private void configureWindow() {
@@ -1440,6 +1473,7 @@ public class MainWindow extends JFrame {
         
         if (result == JOptionPane.YES_OPTION) {
             logger.info("User {} logged out", currentUser.getUsername());
+            SessionStore.getInstance().invalidate(sessionToken);
             dispose();
             
             // Show login window again
@@ -1,10 +1,13 @@
 package com.schoolmanagement.ui;
 
-import com.schoolmanagement.dao.StudentDAO;
+import com.schoolmanagement.dao.AsyncStudentDAO;
 import com.schoolmanagement.model.Student;
+import com.schoolmanagement.model.StudentEnrollment;
+import com.schoolmanagement.model.StudentSummary;
 import com.schoolmanagement.model.Student.Gender;
 import com.schoolmanagement.config.DatabaseConfig;
 import com.schoolmanagement.util.PasswordUtil;
+import com.schoolmanagement.util.Validators;
 
 import javax.swing.*;
 import javax.swing.border.*;
@@ -13,10 +16,10 @@ import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
 import java.awt.event.*;
 import java.sql.SQLException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
 
 public class StudentManagementPanel extends JPanel {
     private JTextField firstNameField, lastNameField, emailField, usernameField;
@@ -25,14 +28,20 @@ public class StudentManagementPanel extends JPanel {
     private JTextField dobField, enrollmentDateField, graduationDateField;
     private JCheckBox activeCheckBox;
 
-    private JButton saveButton, clearButton, refreshButton;
+    private JButton saveButton, clearButton, refreshButton, loadMoreButton;
     private JTable studentsTable;
     private DefaultTableModel tableModel;
-    private StudentDAO studentDAO;
+    private AsyncStudentDAO studentDAO;
     private JLabel statusLabel;
     private CardLayout cardLayout;
     private JPanel mainPanel;
     
+    // Keyset paging state for the students table
+    private static final int PAGE_SIZE = 100;
+    private Integer lastLoadedStudentId;
+    private int loadedStudentCount;
+    private CompletableFuture<List<StudentSummary>> pendingLoad;
+    
     // Colors for modern UI
     private static final Color PRIMARY_COLOR = new Color(41, 128, 185);
     private static final Color SECONDARY_COLOR = new Color(52, 73, 94);
@@ -43,7 +52,7 @@ public class StudentManagementPanel extends JPanel {
     private static final Color BORDER_COLOR = new Color(221, 221, 221);
     
     public StudentManagementPanel() {
-        this.studentDAO = new StudentDAO();
+        this.studentDAO = new AsyncStudentDAO();
         initializeComponents();
         setupLayout();
         setupEventListeners();
@@ -86,6 +95,8 @@ public class StudentManagementPanel extends JPanel {
         saveButton = createStyledButton("Save Student", ACCENT_COLOR);
         clearButton = createStyledButton("Clear Form", SECONDARY_COLOR);
         refreshButton = createStyledButton("Refresh", PRIMARY_COLOR);
+        loadMoreButton = createStyledButton("Load More", PRIMARY_COLOR);
+        loadMoreButton.setEnabled(false);
         
         // Status label
         statusLabel = new JLabel("Ready");
@@ -284,9 +295,10 @@ public class StudentManagementPanel extends JPanel {
         add(mainPanel, BorderLayout.CENTER);
         
         // Status bar
-        JPanel statusPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JPanel statusPanel = new JPanel(new BorderLayout());
         statusPanel.setBackground(BACKGROUND_COLOR);
-        statusPanel.add(statusLabel);
+        statusPanel.add(statusLabel, BorderLayout.WEST);
+        statusPanel.add(loadMoreButton, BorderLayout.EAST);
         add(statusPanel, BorderLayout.SOUTH);
         
         // Show table by default
@@ -442,6 +454,7 @@ public class StudentManagementPanel extends JPanel {
         saveButton.addActionListener(e -> saveStudent());
         clearButton.addActionListener(e -> clearForm());
         refreshButton.addActionListener(e -> loadStudents());
+        loadMoreButton.addActionListener(e -> loadMoreStudents());
     }
     
     private void showFormPanel() {
@@ -455,73 +468,37 @@ public class StudentManagementPanel extends JPanel {
     }
     
     private void saveStudent() {
-        if (!validateForm()) {
+        List<String> formatErrors = new ArrayList<>();
+        Student student = readStudentFromForm(formatErrors);
+        StudentEnrollment enrollment = new StudentEnrollment(student, usernameField.getText().trim(),
+                null, emailField.getText().trim());
+        
+        if (!validateForm(enrollment, formatErrors)) {
             return;
         }
         
         try {
-            Student student = new Student();
-            
-            // Set user information
-            student.setFirstName(firstNameField.getText().trim());
-            student.setLastName(lastNameField.getText().trim());
-            student.setEmail(emailField.getText().trim());
-            student.setUsername(usernameField.getText().trim());
-            
-            // Set student information
-            student.setStudentNumber(studentNumberField.getText().trim());
-            student.setPhoneNumber(phoneField.getText().trim());
-            student.setAddress(addressField.getText().trim());
-            student.setParentContact(parentContactField.getText().trim());
-            
-            // Set gender
-            String selectedGender = (String) genderComboBox.getSelectedItem();
-            if (!"Select Gender".equals(selectedGender)) {
-                student.setGender(Student.Gender.valueOf(selectedGender));
-            }
-            
-            // Set dates - parse from text fields
-            String dobText = dobField.getText().trim();
-            if (!dobText.isEmpty()) {
-                try {
-                    student.setDateOfBirth(java.time.LocalDate.parse(dobText));
-                } catch (Exception e) {
-                    throw new IllegalArgumentException("Invalid date format for Date of Birth. Use YYYY-MM-DD format.");
-                }
-            }
-            
-            String enrollmentText = enrollmentDateField.getText().trim();
-            if (!enrollmentText.isEmpty()) {
-                try {
-                    student.setEnrollmentDate(java.time.LocalDate.parse(enrollmentText));
-                } catch (Exception e) {
-                    throw new IllegalArgumentException("Invalid date format for Enrollment Date. Use YYYY-MM-DD format.");
-                }
-            }
-            
-            String graduationText = graduationDateField.getText().trim();
-            if (!graduationText.isEmpty()) {
-                try {
-                    student.setGraduationDate(java.time.LocalDate.parse(graduationText));
-                } catch (Exception e) {
-                    throw new IllegalArgumentException("Invalid date format for Graduation Date. Use YYYY-MM-DD format.");
-                }
-            }
-            
-            // Set status
-            student.setActive(activeCheckBox.isSelected());
-            
             // Create student in database - need to provide username, password, and email
             String password = PasswordUtil.generateRandomPassword(8); // Generate a secure random password
-            boolean success = studentDAO.createStudent(student, usernameField.getText().trim(), password, emailField.getText().trim());
+            saveButton.setEnabled(false);
+            showStatus("Saving student...", PRIMARY_COLOR);
             
-            if (success) {
-                showStatus("Student saved successfully!", ACCENT_COLOR);
-                clearForm();
-                showTablePanel();
-            } else {
-                showStatus("Failed to save student. Please try again.", ERROR_COLOR);
-            }
+            EdtExecutor.deliver(
+                studentDAO.createStudent(student, enrollment.getUsername(), password, enrollment.getEmail()),
+                success -> {
+                    saveButton.setEnabled(true);
+                    if (success) {
+                        showStatus("Student saved successfully!", ACCENT_COLOR);
+                        clearForm();
+                        showTablePanel();
+                    } else {
+                        showStatus("Failed to save student. Please try again.", ERROR_COLOR);
+                    }
+                },
+                error -> {
+                    saveButton.setEnabled(true);
+                    showStatus("Error: " + error.getMessage(), ERROR_COLOR);
+                });
             
         } catch (Exception e) {
             e.printStackTrace();
@@ -529,69 +506,58 @@ public class StudentManagementPanel extends JPanel {
         }
     }
     
-    private boolean validateForm() {
-        List<String> errors = new ArrayList<>();
-        
-        // Required field validation
-        if (firstNameField.getText().trim().isEmpty()) {
-            errors.add("First name is required");
-        }
-        
-        if (lastNameField.getText().trim().isEmpty()) {
-            errors.add("Last name is required");
-        }
-        
-        if (emailField.getText().trim().isEmpty()) {
-            errors.add("Email is required");
-        } else if (!isValidEmail(emailField.getText().trim())) {
-            errors.add("Invalid email format");
-        }
-        
-        if (usernameField.getText().trim().isEmpty()) {
-            errors.add("Username is required");
-        }
-        
-        if (studentNumberField.getText().trim().isEmpty()) {
-            errors.add("Student number is required");
-        }
-        
-        if ("Select Gender".equals(genderComboBox.getSelectedItem())) {
-            errors.add("Gender is required");
+    /**
+     * Build a student from the form fields. Dates are parsed without exceptions;
+     * unparseable ones are reported in formatErrors and left unset.
+     */
+    private Student readStudentFromForm(List<String> formatErrors) {
+        Student student = new Student();
+        
+        // Set user information
+        student.setFirstName(firstNameField.getText().trim());
+        student.setLastName(lastNameField.getText().trim());
+        student.setEmail(emailField.getText().trim());
+        student.setUsername(usernameField.getText().trim());
+        
+        // Set student information
+        student.setStudentNumber(studentNumberField.getText().trim());
+        student.setPhoneNumber(phoneField.getText().trim());
+        student.setAddress(addressField.getText().trim());
+        student.setParentContact(parentContactField.getText().trim());
+        
+        // Set gender
+        String selectedGender = (String) genderComboBox.getSelectedItem();
+        if (!"Select Gender".equals(selectedGender)) {
+            student.setGender(Student.Gender.valueOf(selectedGender));
         }
         
-        if (dobField.getText().trim().isEmpty()) {
-            errors.add("Date of birth is required");
+        // Set dates - parse from text fields
+        student.setDateOfBirth(parseDate(dobField.getText().trim(), "Date of Birth", formatErrors));
+        LocalDate enrollmentDate = parseDate(enrollmentDateField.getText().trim(), "Enrollment Date", formatErrors);
+        if (enrollmentDate != null) {
+            student.setEnrollmentDate(enrollmentDate);
         }
+        student.setGraduationDate(parseDate(graduationDateField.getText().trim(), "Graduation Date", formatErrors));
         
-        // Date validation
-        String dobText = dobField.getText().trim();
-        String enrollmentText = enrollmentDateField.getText().trim();
-        String graduationText = graduationDateField.getText().trim();
-        
-        if (dobText.isEmpty()) {
-            errors.add("Date of birth is required");
-        }
-        
-        // Parse dates for validation
-        java.time.LocalDate dob = null;
-        java.time.LocalDate enrollment = null;
-        java.time.LocalDate graduation = null;
-        
-        try {
-            if (!dobText.isEmpty()) dob = java.time.LocalDate.parse(dobText);
-            if (!enrollmentText.isEmpty()) enrollment = java.time.LocalDate.parse(enrollmentText);
-            if (!graduationText.isEmpty()) graduation = java.time.LocalDate.parse(graduationText);
-        } catch (Exception e) {
-            errors.add("Invalid date format. Use YYYY-MM-DD format.");
-        }
-        
-        if (dob != null && enrollment != null && enrollment.isBefore(dob)) {
-            errors.add("Enrollment date cannot be before date of birth");
+        // Set status
+        student.setActive(activeCheckBox.isSelected());
+        return student;
+    }
+    
+    private LocalDate parseDate(String text, String label, List<String> formatErrors) {
+        if (text.isEmpty()) {
+            return null;
         }
-        
-        if (graduation != null && enrollment != null && graduation.isBefore(enrollment)) {
-            errors.add("Graduation date cannot be before enrollment date");
+        LocalDate date = Validators.parseIsoDate(text);
+        if (date == null) {
+            formatErrors.add("Invalid date format for " + label + ". Use YYYY-MM-DD format.");
         }
+        return date;
+    }
+    
+    private boolean validateForm(StudentEnrollment enrollment, List<String> formatErrors) {
+        List<String> errors = new ArrayList<>(formatErrors);
+        errors.addAll(Validators.STUDENT_ENROLLMENT.validate(enrollment).getMessages());
         
         if (!errors.isEmpty()) {
             String errorMessage = String.join("\n• ", errors);
@@ -603,11 +569,6 @@ public class StudentManagementPanel extends JPanel {
         return true;
     }
     
-    private boolean isValidEmail(String email) {
-        String emailRegex = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$";
-        return email.matches(emailRegex);
-    }
-    
     private void clearForm() {
         firstNameField.setText("");
         lastNameField.setText("");
@@ -626,22 +587,51 @@ public class StudentManagementPanel extends JPanel {
     }
     
     private void loadStudents() {
-        try {
-            List<Student> students = studentDAO.getAllStudents();
-            updateTable(students);
-            showStatus("Loaded " + students.size() + " students", PRIMARY_COLOR);
-        } catch (Exception e) {
-            e.printStackTrace();
-            showStatus("Error loading students: " + e.getMessage(), ERROR_COLOR);
+        if (pendingLoad != null) {
+            pendingLoad.cancel(true); // a refresh supersedes any page still loading
         }
+        tableModel.setRowCount(0); // Clear existing data
+        lastLoadedStudentId = null;
+        loadedStudentCount = 0;
+        loadMoreStudents();
     }
     
-    private void updateTable(List<Student> students) {
-        tableModel.setRowCount(0); // Clear existing data
-        
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-        
-        for (Student student : students) {
+    private void loadMoreStudents() {
+        loadMoreButton.setEnabled(false);
+        showStatus("Loading students...", PRIMARY_COLOR);
+        
+        CompletableFuture<List<StudentSummary>> load =
+            studentDAO.getStudentSummariesPage(lastLoadedStudentId, PAGE_SIZE, true);
+        pendingLoad = load;
+        
+        EdtExecutor.deliver(load,
+            students -> {
+                if (pendingLoad != load) {
+                    return; // superseded by a refresh
+                }
+                pendingLoad = null;
+                appendToTable(students);
+                
+                if (!students.isEmpty()) {
+                    lastLoadedStudentId = students.get(students.size() - 1).getStudentId();
+                }
+                loadedStudentCount += students.size();
+                loadMoreButton.setEnabled(students.size() == PAGE_SIZE);
+                showStatus("Loaded " + loadedStudentCount + " students", PRIMARY_COLOR);
+            },
+            error -> {
+                if (pendingLoad != load) {
+                    return; // cancelled by a refresh, which has its own load running
+                }
+                pendingLoad = null;
+                // Let the user retry the same page
+                loadMoreButton.setEnabled(true);
+                showStatus("Error loading students: " + error.getMessage(), ERROR_COLOR);
+            });
+    }
+    
+    private void appendToTable(List<StudentSummary> students) {
+        for (StudentSummary student : students) {
             Object[] row = {
                 student.getStudentId(),
                 student.getStudentNumber(),
@@ -0,0 +1,139 @@
+package com.schoolmanagement.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe Bloom filter over strings. mightContain never returns false for a value
+ * that was put; it returns true for an absent value with roughly the configured
+ * false-positive probability. Bits are set with CAS, so concurrent puts need no lock.
+ */
+public class BloomFilter {
+    private final AtomicLongArray words;
+    private final long numBits;
+    private final int numHashes;
+    private final LongAdder insertions = new LongAdder();
+
+    private BloomFilter(long numBits, int numHashes) {
+        this.numBits = numBits;
+        this.numHashes = numHashes;
+        this.words = new AtomicLongArray((int) ((numBits + 63) / 64));
+    }
+
+    /**
+     * Create a filter sized for an expected number of values
+     * @param expectedInsertions how many values will be put
+     * @param falsePositiveRate target probability that mightContain is wrongly true
+     * @return an empty filter
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        long numBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        numBits = Math.max(64, Math.min(numBits, Integer.MAX_VALUE * 64L));
+        int numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+        return new BloomFilter(numBits, numHashes);
+    }
+
+    /**
+     * Add a value
+     * @param value the value to add
+     */
+    public void put(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            setBit(index(h1 + i * h2));
+        }
+        insertions.increment();
+    }
+
+    /**
+     * Check whether a value may have been added
+     * @param value the value to check
+     * @return false if the value was definitely never added
+     */
+    public boolean mightContain(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            long bit = index(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimate the current false-positive probability from the number of insertions
+     * @return the expected probability that mightContain is wrongly true
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-numHashes * (double) insertions.sum() / numBits), numHashes);
+    }
+
+    public long getInsertionCount() {
+        return insertions.sum();
+    }
+
+    public long getBitSize() {
+        return numBits;
+    }
+
+    public int getHashCount() {
+        return numHashes;
+    }
+
+    /**
+     * @return approximate heap used by the bit array, in bytes
+     */
+    public long getMemoryBytes() {
+        return words.length() * 8L;
+    }
+
+    private long index(int combinedHash) {
+        // Flip negative values so every hash maps into [0, numBits)
+        return (combinedHash < 0 ? ~combinedHash : combinedHash) % numBits;
+    }
+
+    private void setBit(long bit) {
+        int wordIndex = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long word;
+        do {
+            word = words.get(wordIndex);
+            if ((word & mask) != 0) {
+                return;
+            }
+        } while (!words.compareAndSet(wordIndex, word, word | mask));
+    }
+
+    private static long hash64(String value) {
+        // FNV-1a over UTF-8 bytes followed by the MurmurHash3 finalizer for good bit mixing
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BloomFilter{bits=%d, hashes=%d, insertions=%d, memory=%d KB, expectedFpp=%.4f}",
+                numBits, numHashes, getInsertionCount(), getMemoryBytes() / 1024, expectedFalsePositiveRate());
+    }
+}
@@ -0,0 +1,185 @@
+package com.schoolmanagement.util;
+
+import com.schoolmanagement.config.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token-bucket throttling of login attempts per username and per client.
+ * <p>
+ * Each bucket is a single AtomicLong holding its "theoretical arrival time" (the GCRA form of a
+ * token bucket), so an attempt costs one CAS and no locks. A bucket whose arrival time has passed
+ * is full and indistinguishable from a new one, so idle buckets are swept without losing state.
+ * The number of tracked keys is capped; once the cap is reached and nothing can be swept, new keys
+ * share a single overflow bucket instead of growing the map.
+ */
+public final class LoginThrottle {
+    private static final Logger logger = LoggerFactory.getLogger(LoginThrottle.class);
+    private static final LoginThrottle INSTANCE = new LoginThrottle(
+        AppConfig.getIntProperty("security.throttle.username.burst", 5),
+        AppConfig.getIntProperty("security.throttle.username.per.minute", 5),
+        AppConfig.getIntProperty("security.throttle.client.burst", 20),
+        AppConfig.getIntProperty("security.throttle.client.per.minute", 60),
+        AppConfig.getIntProperty("security.throttle.max.keys", 100_000));
+
+    /** Client id used when the caller does not supply one: this desktop host */
+    public static final String LOCAL_CLIENT = localClientId();
+
+    private final Limiter usernames;
+    private final Limiter clients;
+
+    LoginThrottle(int usernameBurst, int usernamePerMinute, int clientBurst, int clientPerMinute, int maxKeys) {
+        this.usernames = new Limiter("username", usernameBurst, usernamePerMinute, maxKeys);
+        this.clients = new Limiter("client", clientBurst, clientPerMinute, maxKeys);
+        logger.info("Login throttle: {} attempts/min per username (burst {}), {} attempts/min per client (burst {})",
+                usernamePerMinute, usernameBurst, clientPerMinute, clientBurst);
+    }
+
+    public static LoginThrottle getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Take one token from the client bucket, then from the username bucket
+     * @param username the username being tried
+     * @param clientId the client making the attempt
+     * @throws LoginThrottledException if either bucket is empty
+     */
+    public void acquire(String username, String clientId) {
+        long wait = clients.tryAcquire(clientId != null ? clientId : LOCAL_CLIENT);
+        if (wait > 0) {
+            throw new LoginThrottledException("Too many login attempts from this client", wait);
+        }
+        wait = usernames.tryAcquire(normalize(username));
+        if (wait > 0) {
+            throw new LoginThrottledException("Too many login attempts for this user", wait);
+        }
+    }
+
+    /**
+     * Refill the username bucket after a successful login, so a user who mistyped a few times
+     * does not carry the penalty into their next session
+     * @param username the username that authenticated
+     */
+    public void recordSuccess(String username) {
+        usernames.reset(normalize(username));
+    }
+
+    /**
+     * @return a one-line summary of allowed and rejected attempts and tracked keys
+     */
+    public String getStats() {
+        return usernames + ", " + clients;
+    }
+
+    private static String normalize(String username) {
+        return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String localClientId() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "localhost";
+        }
+    }
+
+    /**
+     * A family of buckets sharing one rate and burst
+     */
+    private static final class Limiter {
+        private final String name;
+        private final long intervalNanos;
+        private final long toleranceNanos;
+        private final int maxKeys;
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicLong overflow = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicBoolean sweeping = new AtomicBoolean();
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        Limiter(String name, int burst, int perMinute, int maxKeys) {
+            if (burst <= 0 || perMinute <= 0 || maxKeys <= 0) {
+                throw new IllegalArgumentException("Throttle limits for " + name + " must be positive");
+            }
+            this.name = name;
+            this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / perMinute;
+            this.toleranceNanos = intervalNanos * (burst - 1);
+            this.maxKeys = maxKeys;
+        }
+
+        /**
+         * @return 0 if a token was taken, otherwise milliseconds until one is available
+         */
+        long tryAcquire(String key) {
+            AtomicLong bucket = bucketFor(key);
+            while (true) {
+                long now = System.nanoTime();
+                long tat = bucket.get();
+                long start = tat == Long.MIN_VALUE || tat - now < 0 ? now : tat;
+                long next = start + intervalNanos;
+                long ahead = next - now - intervalNanos;
+                if (ahead > toleranceNanos) {
+                    rejected.increment();
+                    return Math.max(1, TimeUnit.NANOSECONDS.toMillis(ahead - toleranceNanos));
+                }
+                if (bucket.compareAndSet(tat, next)) {
+                    allowed.increment();
+                    return 0;
+                }
+            }
+        }
+
+        void reset(String key) {
+            buckets.remove(key);
+        }
+
+        private AtomicLong bucketFor(String key) {
+            AtomicLong bucket = buckets.get(key);
+            if (bucket != null) {
+                return bucket;
+            }
+            if (buckets.size() >= maxKeys) {
+                sweep();
+                if (buckets.size() >= maxKeys) {
+                    return overflow;
+                }
+            }
+            return buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+
+        /**
+         * Drop buckets that have fully refilled; they carry no state a new bucket would not
+         */
+        private void sweep() {
+            if (!sweeping.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                long now = System.nanoTime();
+                int before = buckets.size();
+                buckets.values().removeIf(b -> b.get() == Long.MIN_VALUE || b.get() - now <= 0);
+                logger.debug("Swept {} idle {} buckets, {} remain", before - buckets.size(), name, buckets.size());
+                if (buckets.size() >= maxKeys) {
+                    logger.warn("{} throttle is tracking {} keys; new keys share the overflow bucket", name, buckets.size());
+                }
+            } finally {
+                sweeping.set(false);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s{allowed=%d, rejected=%d, tracked=%d}",
+                    name, allowed.sum(), rejected.sum(), buckets.size());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.schoolmanagement.util;
+
+/**
+ * Thrown when a login attempt is refused by LoginThrottle before any database or BCrypt work
+ */
+public class LoginThrottledException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterMillis;
+
+    public LoginThrottledException(String message, long retryAfterMillis) {
+        super(message);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * @return how long the caller should wait before the next attempt can succeed
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
@@ -0,0 +1,267 @@
+package com.schoolmanagement.util;
+
+import com.schoolmanagement.config.AppConfig;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide metrics: latency histograms, counters and gauges, keyed by dotted names
+ * such as "pool.acquire" or "dao.StudentDAO.getStudentById".
+ * <p>
+ * The same values are exposed three ways: as attributes of the JMX bean
+ * com.schoolmanagement:type=Metrics, as plain text on http://127.0.0.1:&lt;metrics.http.port&gt;/metrics
+ * (disabled when the port is 0), and as a summary logged every metrics.log.interval.seconds.
+ */
+public final class MetricsRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsRegistry.class);
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    private static final double[] PERCENTILES = {50, 95, 99};
+
+    private final Map<String, LatencyHistogram> timers = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, Supplier<? extends Number>> gauges = new ConcurrentSkipListMap<>();
+    private final Map<String, LatencyHistogram.Snapshot> lastLogged = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+    }
+
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get or create a latency histogram
+     * @param name the metric name
+     * @return the histogram; record into it with recordNanos
+     */
+    public LatencyHistogram timer(String name) {
+        return timers.computeIfAbsent(name, n -> new LatencyHistogram());
+    }
+
+    /**
+     * Get or create a counter
+     * @param name the metric name
+     * @return the counter
+     */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, n -> new LongAdder());
+    }
+
+    /**
+     * Register a gauge read on demand, replacing any gauge of the same name
+     * @param name the metric name
+     * @param gauge supplies the current value
+     */
+    public void gauge(String name, Supplier<? extends Number> gauge) {
+        gauges.put(name, gauge);
+    }
+
+    /**
+     * Flatten every metric into name/value pairs; timers expand to count, mean, max and percentiles
+     * @return current values, sorted by name
+     */
+    public Map<String, Number> snapshot() {
+        Map<String, Number> values = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : timers.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            String name = entry.getKey();
+            values.put(name + ".count", histogram.getCount());
+            values.put(name + ".mean_ms", histogram.getMeanMillis());
+            values.put(name + ".max_ms", histogram.getMaxMillis());
+            for (double p : PERCENTILES) {
+                values.put(name + ".p" + (int) p + "_ms", histogram.getPercentileMillis(p));
+            }
+        }
+        for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+            values.put(entry.getKey(), entry.getValue().sum());
+        }
+        for (Map.Entry<String, Supplier<? extends Number>> entry : gauges.entrySet()) {
+            try {
+                values.put(entry.getKey(), entry.getValue().get());
+            } catch (RuntimeException e) {
+                logger.debug("Gauge {} failed: {}", entry.getKey(), e.getMessage());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @return one "name value" line per metric
+     */
+    public String render() {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, Number> entry : snapshot().entrySet()) {
+            text.append(entry.getKey()).append(' ').append(format(entry.getValue())).append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Register the JMX bean, start the text endpoint and schedule the log summary, as configured
+     */
+    public void start() {
+        registerMBean();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "metrics-logger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // HttpServer's dispatcher inherits daemon status from the thread that starts it,
+        // so start it here rather than on main, where it would keep the JVM alive
+        int port = AppConfig.getIntProperty("metrics.http.port", 0);
+        scheduler.execute(() -> startHttpEndpoint(port));
+        int interval = AppConfig.getIntProperty("metrics.log.interval.seconds", 60);
+        if (interval > 0) {
+            scheduler.scheduleAtFixedRate(this::logSummary, interval, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Log every gauge and counter and, for each timer used since the last summary, how many calls
+     * it saw and their percentiles. Timers are reported per interval here; JMX and the HTTP endpoint
+     * keep the totals since startup.
+     */
+    void logSummary() {
+        StringBuilder summary = new StringBuilder("Metrics:");
+        for (Map.Entry<String, Supplier<? extends Number>> entry : gauges.entrySet()) {
+            try {
+                summary.append(' ').append(entry.getKey()).append('=').append(format(entry.getValue().get()));
+            } catch (RuntimeException e) {
+                logger.debug("Gauge {} failed: {}", entry.getKey(), e.getMessage());
+            }
+        }
+        for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+            summary.append(' ').append(entry.getKey()).append('=').append(entry.getValue().sum());
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : timers.entrySet()) {
+            LatencyHistogram.Snapshot current = entry.getValue().snapshot();
+            LatencyHistogram.Snapshot interval = current.since(lastLogged.put(entry.getKey(), current));
+            if (interval.getCount() > 0) {
+                summary.append(String.format("%n  %s: +%d, p50=%.1fms p99=%.1fms max=%.1fms",
+                        entry.getKey(), interval.getCount(), interval.getPercentileMillis(50),
+                        interval.getPercentileMillis(99), interval.getMaxMillis()));
+            }
+        }
+        logger.info(summary.toString());
+    }
+
+    private void registerMBean() {
+        try {
+            ObjectName name = new ObjectName("com.schoolmanagement:type=Metrics");
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsMBean(), name);
+            }
+        } catch (Exception e) {
+            logger.warn("Could not register metrics MBean: {}", e.getMessage());
+        }
+    }
+
+    private void startHttpEndpoint(int port) {
+        if (port <= 0) {
+            return;
+        }
+        try {
+            // Loopback only: the numbers are for operators on this machine, not the network
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            server.createContext("/metrics", exchange -> {
+                byte[] body = render().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.setExecutor(Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "metrics-http");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            server.start();
+            logger.info("Metrics available at http://127.0.0.1:{}/metrics", port);
+        } catch (IOException e) {
+            logger.warn("Could not start metrics endpoint on port {}: {}", port, e.getMessage());
+        }
+    }
+
+    private static String format(Number value) {
+        if (value instanceof Double || value instanceof Float) {
+            return String.format("%.3f", value.doubleValue());
+        }
+        return String.valueOf(value);
+    }
+
+    /**
+     * Read-only bean exposing every snapshot value as an attribute, so JConsole can graph it
+     */
+    private final class MetricsMBean implements DynamicMBean {
+        @Override
+        public Object getAttribute(String attribute) {
+            Number value = snapshot().get(attribute);
+            return value != null ? value.doubleValue() : null;
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) {
+            throw new UnsupportedOperationException("Metrics are read-only");
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] attributes) {
+            Map<String, Number> values = snapshot();
+            AttributeList list = new AttributeList();
+            for (String attribute : attributes) {
+                Number value = values.get(attribute);
+                if (value != null) {
+                    list.add(new Attribute(attribute, value.doubleValue()));
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) {
+            throw new UnsupportedOperationException("No operations");
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            List<MBeanAttributeInfo> attributes = new ArrayList<>();
+            for (String name : snapshot().keySet()) {
+                attributes.add(new MBeanAttributeInfo(name, "double", name, true, false, false));
+            }
+            return new MBeanInfo(MetricsRegistry.class.getName(), "School Management System metrics",
+                    attributes.toArray(new MBeanAttributeInfo[0]), null, null, null);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.schoolmanagement.util;
+
+import com.schoolmanagement.config.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dedicated executor for BCrypt work. It has one thread per core, so a login storm
+ * cannot run more hashes at once than the host has cores. The queue is bounded, and
+ * when it is full new work is rejected immediately with RejectedExecutionException,
+ * so callers can fail fast instead of piling up threads.
+ * <p>
+ * Cancelling a returned future removes the work from the queue if it has not started.
+ * BCrypt does not check for interrupts, so a hash that is already running finishes anyway.
+ * <p>
+ * Bulk hashing runs on its own threads, so an import never occupies the threads or queue
+ * slots that login verifications need. Both share one budget of a permit per login thread,
+ * so the process still runs no more hashes at once than that; bulk work only takes a permit
+ * while no login is waiting and, given more than one, leaves one free for the next login.
+ */
+public final class PasswordHashingPool {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingPool.class);
+    private static final PasswordHashingPool INSTANCE = new PasswordHashingPool(
+        AppConfig.getIntProperty("security.hashing.threads", Runtime.getRuntime().availableProcessors()),
+        AppConfig.getIntProperty("security.hashing.queue.capacity", 64),
+        AppConfig.getIntProperty("security.hashing.timeout.ms", 5000),
+        AppConfig.getIntProperty("security.hashing.bulk.threads",
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1)));
+
+    // Pause before bulk work looks for a free permit again
+    private static final long BULK_RETRY_MILLIS = 20;
+
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor bulkExecutor;
+    private final long timeoutMillis;
+    private final int bulkParallelism;
+    // One permit per hash that may run at once, shared by logins and bulk work
+    private final Semaphore cpu;
+    // Login work submitted but not yet holding a permit; bulk work yields while this is non-zero
+    private final AtomicInteger loginsWaiting = new AtomicInteger();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder totalQueueNanos = new LongAdder();
+    private final AtomicLong maxQueueNanos = new AtomicLong();
+
+    private PasswordHashingPool(int threads, int queueCapacity, long timeoutMillis, int bulkThreads) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            r -> {
+                Thread thread = new Thread(r, "bcrypt-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.timeoutMillis = timeoutMillis;
+        this.cpu = new Semaphore(threads);
+        this.bulkParallelism = Math.max(1, Math.min(bulkThreads, threads - 1));
+
+        // hashAll never has more than bulkParallelism tasks outstanding, so this queue stays short
+        AtomicInteger bulkThreadNumber = new AtomicInteger(1);
+        this.bulkExecutor = new ThreadPoolExecutor(bulkParallelism, bulkParallelism, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            r -> {
+                Thread thread = new Thread(r, "bcrypt-bulk-" + bulkThreadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.bulkExecutor.allowCoreThreadTimeOut(true);
+        logger.info("Password hashing pool started with {} threads, queue capacity {} and {} bulk threads",
+                threads, queueCapacity, bulkParallelism);
+    }
+
+    public static PasswordHashingPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Queue hashing work
+     * @param work the work to run on a hashing thread
+     * @return a future completed with the work's result
+     * @throws RejectedExecutionException if the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> work) {
+        long enqueuedAt = System.nanoTime();
+        HashingTask<T> task = new HashingTask<>(() -> {
+            long queued = System.nanoTime() - enqueuedAt;
+            totalQueueNanos.add(queued);
+            maxQueueNanos.accumulateAndGet(queued, Math::max);
+            try {
+                return work.call();
+            } finally {
+                completed.increment();
+            }
+        });
+        loginsWaiting.incrementAndGet();
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.leaveQueue();
+            rejected.increment();
+            throw new RejectedExecutionException("Password hashing pool is saturated", e);
+        }
+        submitted.increment();
+        return task.result;
+    }
+
+    /**
+     * Queued work whose future can be cancelled; cancelling takes it off the queue.
+     * It holds a CPU permit while it runs and counts as a waiting login until it has one.
+     */
+    private final class HashingTask<T> extends FutureTask<T> {
+        private final AtomicBoolean waiting = new AtomicBoolean(true);
+
+        final CompletableFuture<T> result = new CompletableFuture<T>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                boolean cancelled = super.cancel(mayInterruptIfRunning);
+                if (cancelled) {
+                    HashingTask.this.cancel(true);
+                    executor.remove(HashingTask.this);
+                }
+                return cancelled;
+            }
+        };
+
+        HashingTask(Callable<T> work) {
+            super(work);
+        }
+
+        void leaveQueue() {
+            if (waiting.compareAndSet(true, false)) {
+                loginsWaiting.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void run() {
+            if (isDone()) {
+                return;
+            }
+            cpu.acquireUninterruptibly();
+            leaveQueue();
+            try {
+                super.run();
+            } finally {
+                cpu.release();
+            }
+        }
+
+        @Override
+        protected void done() {
+            leaveQueue();
+            if (isCancelled()) {
+                return; // only result.cancel() cancels the task, so result is already done
+            }
+            try {
+                result.complete(get());
+            } catch (ExecutionException e) {
+                result.completeExceptionally(e.getCause());
+            } catch (InterruptedException e) {
+                // Not reached: get() does not block once the task is done
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Hash many passwords, e.g. for bulk provisioning. The work runs on the bulk threads, never on
+     * the ones that verify logins, and at most security.hashing.bulk.threads passwords (and never
+     * all of the CPU permits) are queued or running at once; the next password is submitted as an
+     * earlier one finishes. Each hash waits for a CPU permit while logins are waiting.
+     * @param plainPasswords the plain text passwords
+     * @return one completed future per password, in the same order as the input; a password that
+     *         could not be hashed completes its future exceptionally without affecting the others
+     */
+    public List<CompletableFuture<String>> hashAll(List<String> plainPasswords) {
+        Semaphore inFlight = new Semaphore(bulkParallelism);
+        List<CompletableFuture<String>> futures = new ArrayList<>(plainPasswords.size());
+        for (String plainPassword : plainPasswords) {
+            inFlight.acquireUninterruptibly();
+            CompletableFuture<String> future;
+            try {
+                future = CompletableFuture.supplyAsync(() -> hashInBulk(plainPassword), bulkExecutor);
+            } catch (RejectedExecutionException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            future.whenComplete((hash, error) -> inFlight.release());
+            futures.add(future);
+        }
+
+        // Wait for every hash, failed or not, so the caller gets finished results
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).exceptionally(e -> null).join();
+        return futures;
+    }
+
+    private String hashInBulk(String plainPassword) {
+        while (loginsWaiting.get() > 0 || !cpu.tryAcquire()) {
+            try {
+                Thread.sleep(BULK_RETRY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting to hash a password", e);
+            }
+        }
+        try {
+            return PasswordUtil.hashPassword(plainPassword);
+        } finally {
+            cpu.release();
+        }
+    }
+
+    /**
+     * Verify a password on the hashing pool, waiting at most the configured timeout
+     * @param plainPassword the plain text password
+     * @param hashedPassword the stored hash
+     * @return true if the password matches
+     * @throws RejectedExecutionException if the pool is saturated or verification timed out;
+     *         on timeout the verification is removed from the queue if it has not started
+     */
+    public boolean verify(String plainPassword, String hashedPassword) {
+        CompletableFuture<Boolean> result = submit(() -> PasswordUtil.verifyPassword(plainPassword, hashedPassword));
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            timedOut.increment();
+            throw new RejectedExecutionException("Password verification timed out after " + timeoutMillis + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            logger.error("Error verifying password", e.getCause());
+            return false;
+        }
+    }
+
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getTimedOutCount() {
+        return timedOut.sum();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public double getAverageQueueMillis() {
+        long count = completed.sum();
+        return count == 0 ? 0.0 : totalQueueNanos.sum() / 1_000_000.0 / count;
+    }
+
+    public double getMaxQueueMillis() {
+        return maxQueueNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PasswordHashingPool{threads=%d, bulkThreads=%d, queued=%d, submitted=%d, rejected=%d, " +
+                "timedOut=%d, avgQueueMs=%.1f, maxQueueMs=%.1f}",
+                executor.getMaximumPoolSize(), bulkParallelism, getQueuedCount(), getSubmittedCount(), getRejectedCount(),
+                getTimedOutCount(), getAverageQueueMillis(), getMaxQueueMillis());
+    }
+}
@@ -1,5 +1,6 @@
 package com.schoolmanagement.util;
 
+import com.schoolmanagement.config.AppConfig;
 import org.mindrot.jbcrypt.BCrypt;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,7 +10,16 @@ import org.slf4j.LoggerFactory;
  */
 public class PasswordUtil {
     private static final Logger logger = LoggerFactory.getLogger(PasswordUtil.class);
-    private static final int BCRYPT_ROUNDS = 10;
+    private static final int MIN_ROUNDS = AppConfig.getIntProperty("security.bcrypt.rounds.min", 10);
+    private static final int MAX_ROUNDS = 16;
+    private static final int PROBE_ROUNDS = 6;
+    // Clients calibrate to their own CPU; only costs at least this far apart are rewritten
+    private static final int REHASH_TOLERANCE = AppConfig.getIntProperty("security.bcrypt.rehash.tolerance", 2);
+
+    // Current work factor for new hashes; replaced by calibrate() unless security.bcrypt.rounds is set
+    private static volatile int bcryptRounds = AppConfig.getIntProperty("security.bcrypt.rounds", 10);
+    // False until the work factor is final, i.e. calibrated, configured or set explicitly
+    private static volatile boolean workFactorSettled = false;
 
     /**
      * Hash a password using BCrypt
@@ -22,7 +32,7 @@ public class PasswordUtil {
         }
         
         try {
-            return BCrypt.hashpw(plainPassword, BCrypt.gensalt(BCRYPT_ROUNDS));
+            return BCrypt.hashpw(plainPassword, BCrypt.gensalt(bcryptRounds));
         } catch (Exception e) {
             logger.error("Error hashing password", e);
             throw new RuntimeException("Password hashing failed", e);
@@ -48,21 +58,126 @@ public class PasswordUtil {
         }
     }
 
+    /**
+     * Get the work factor used for new hashes
+     * @return the BCrypt log rounds
+     */
+    public static int getWorkFactor() {
+        return bcryptRounds;
+    }
+
+    /**
+     * Set the work factor used for new hashes
+     * @param rounds the BCrypt log rounds (4 to 31)
+     */
+    public static void setWorkFactor(int rounds) {
+        if (rounds < 4 || rounds > 31) {
+            throw new IllegalArgumentException("BCrypt rounds must be between 4 and 31");
+        }
+        bcryptRounds = rounds;
+        workFactorSettled = true;
+    }
+
+    /**
+     * Get the work factor a hash was created with
+     * @param hashedPassword a BCrypt hash such as $2a$10$...
+     * @return the log rounds, or -1 if the hash is not a BCrypt hash
+     */
+    public static int getCost(String hashedPassword) {
+        if (hashedPassword == null || hashedPassword.length() < 7 || hashedPassword.charAt(0) != '$') {
+            return -1;
+        }
+        int costStart = hashedPassword.indexOf('$', 1) + 1;
+        if (costStart <= 1 || costStart + 2 >= hashedPassword.length() || hashedPassword.charAt(costStart + 2) != '$') {
+            return -1;
+        }
+        char tens = hashedPassword.charAt(costStart);
+        char units = hashedPassword.charAt(costStart + 1);
+        if (tens < '0' || tens > '9' || units < '0' || units > '9') {
+            return -1;
+        }
+        return (tens - '0') * 10 + (units - '0');
+    }
+
+    /**
+     * Check whether a stored hash should be replaced with one at the current work factor.
+     * Always false before calibration has finished, so early logins keep the stored hash.
+     * @param hashedPassword the stored hash
+     * @return true if its cost differs from the current work factor by at least
+     *         security.bcrypt.rehash.tolerance
+     */
+    public static boolean needsRehash(String hashedPassword) {
+        if (!workFactorSettled) {
+            return false;
+        }
+        int cost = getCost(hashedPassword);
+        return cost != -1 && Math.abs(cost - bcryptRounds) >= Math.max(REHASH_TOLERANCE, 1);
+    }
+
+    /**
+     * Pick the highest work factor whose hash time on this host stays within a target.
+     * The cost doubles per round, so one cheap probe gives an estimate that is then measured.
+     * The result is never below security.bcrypt.rounds.min.
+     * @param targetMillis the desired time for one hash or verify
+     * @return the calibrated work factor
+     */
+    public static int calibrateWorkFactor(long targetMillis) {
+        double probeMillis = timeHash(PROBE_ROUNDS);
+        int rounds = PROBE_ROUNDS;
+        while (rounds < MAX_ROUNDS && probeMillis * (1L << (rounds + 1 - PROBE_ROUNDS)) <= targetMillis) {
+            rounds++;
+        }
+        rounds = Math.max(rounds, MIN_ROUNDS);
+
+        // Correct the estimate with real measurements
+        double measured = timeHash(rounds);
+        while (rounds > MIN_ROUNDS && measured > targetMillis) {
+            rounds--;
+            measured /= 2;
+        }
+        while (rounds < MAX_ROUNDS && measured * 2 <= targetMillis) {
+            rounds++;
+            measured *= 2;
+        }
+
+        logger.info("Calibrated BCrypt work factor {} (~{} ms per hash, target {} ms)",
+                rounds, Math.round(measured), targetMillis);
+        return rounds;
+    }
+
+    /**
+     * Calibrate on a background thread and switch new hashes to the result,
+     * unless the work factor was fixed with security.bcrypt.rounds
+     */
+    public static void calibrateInBackground() {
+        if (AppConfig.getProperty("security.bcrypt.rounds") != null) {
+            logger.info("BCrypt work factor fixed at {} by configuration", bcryptRounds);
+            workFactorSettled = true;
+            return;
+        }
+        long targetMillis = AppConfig.getIntProperty("security.bcrypt.target.ms", 250);
+        Thread thread = new Thread(() -> setWorkFactor(calibrateWorkFactor(targetMillis)), "bcrypt-calibration");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    private static double timeHash(int rounds) {
+        String salt = BCrypt.gensalt(rounds);
+        BCrypt.hashpw("calibration-warmup", salt);
+        long start = System.nanoTime();
+        BCrypt.hashpw("calibration-probe1", salt);
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+
     /**
      * Check if a password meets minimum requirements
      * @param password the password to check
      * @return true if password meets requirements
      */
     public static boolean isValidPassword(String password) {
-        if (password == null || password.length() < 6) {
-            return false;
-        }
-        
-        // Check for at least one letter and one number
-        boolean hasLetter = password.matches(".*[a-zA-Z].*");
-        boolean hasNumber = password.matches(".*\\d.*");
-        
-        return hasLetter && hasNumber;
+        // At least security.password.minlength characters, one letter and one number
+        return Validators.isValidPassword(password);
     }
 
     /**
@@ -0,0 +1,175 @@
+package com.schoolmanagement.util;
+
+import com.schoolmanagement.config.AppConfig;
+import com.schoolmanagement.model.User;
+import com.schoolmanagement.model.UserProfile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory store of authenticated sessions. A successful login is exchanged for an
+ * opaque token, and later checks are a hash lookup instead of another BCrypt verify and
+ * DB round trip. Sessions expire after security.session.timeout minutes without use
+ * (sliding expiry), and a background sweeper evicts idle sessions. The role profile
+ * loaded at login is kept with the session, so views can render it without a query.
+ */
+public final class SessionStore {
+    private static final Logger logger = LoggerFactory.getLogger(SessionStore.class);
+    private static final SessionStore INSTANCE =
+        new SessionStore(TimeUnit.MINUTES.toNanos(AppConfig.getIntProperty("security.session.timeout", 30)));
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final long timeoutNanos;
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * An authenticated session
+     */
+    public static final class Session {
+        private final String token;
+        private final UserProfile profile;
+        private final long createdAtMillis;
+        private volatile long lastAccessNanos;
+
+        private Session(String token, UserProfile profile) {
+            this.token = token;
+            this.profile = profile;
+            this.createdAtMillis = System.currentTimeMillis();
+            this.lastAccessNanos = System.nanoTime();
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public User getUser() {
+            return profile.getUser();
+        }
+
+        public UserProfile getProfile() {
+            return profile;
+        }
+
+        public long getCreatedAtMillis() {
+            return createdAtMillis;
+        }
+
+        private boolean isExpired(long now, long timeoutNanos) {
+            return now - lastAccessNanos > timeoutNanos;
+        }
+    }
+
+    private SessionStore(long timeoutNanos) {
+        this.timeoutNanos = timeoutNanos;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long sweepSeconds = Math.max(1, Math.min(60, TimeUnit.NANOSECONDS.toSeconds(timeoutNanos)));
+        sweeper.scheduleWithFixedDelay(this::evictExpired, sweepSeconds, sweepSeconds, TimeUnit.SECONDS);
+    }
+
+    public static SessionStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Start a session for an authenticated user
+     * @param user the authenticated user
+     * @return the opaque session token
+     */
+    public String createSession(User user) {
+        return createSession(new UserProfile(user));
+    }
+
+    /**
+     * Start a session for an authenticated user and cache their role profile with it
+     * @param profile the authenticated user and their role profile
+     * @return the opaque session token
+     */
+    public String createSession(UserProfile profile) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        sessions.put(token, new Session(token, profile));
+        logger.info("Session started for user {}", profile.getUser().getUsername());
+        return token;
+    }
+
+    /**
+     * Look up a live session and extend its expiry
+     * @param token the session token
+     * @return the session, or empty if the token is unknown or expired
+     */
+    public Optional<Session> getSession(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return Optional.empty();
+        }
+        long now = System.nanoTime();
+        if (session.isExpired(now, timeoutNanos)) {
+            sessions.remove(token, session);
+            return Optional.empty();
+        }
+        session.lastAccessNanos = now;
+        return Optional.of(session);
+    }
+
+    /**
+     * Validate a session token and extend its expiry
+     * @param token the session token
+     * @return the session's user, or empty if the token is unknown or expired
+     */
+    public Optional<User> validate(String token) {
+        return getSession(token).map(Session::getUser);
+    }
+
+    /**
+     * End a session, e.g. on logout
+     * @param token the session token
+     */
+    public void invalidate(String token) {
+        if (token != null && sessions.remove(token) != null) {
+            logger.info("Session ended");
+        }
+    }
+
+    /**
+     * Remove sessions idle for longer than the timeout
+     * @return number of sessions evicted
+     */
+    public int evictExpired() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Iterator<Session> it = sessions.values().iterator(); it.hasNext(); ) {
+            if (it.next().isExpired(now, timeoutNanos)) {
+                it.remove();
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            logger.info("Evicted {} idle sessions", evicted);
+        }
+        return evicted;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+}
@@ -0,0 +1,95 @@
+package com.schoolmanagement.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of validating one or more rows. Errors are reported in row order,
+ * and within a row in rule order.
+ */
+public class ValidationReport {
+    private final int rowCount;
+    private final List<Error> errors;
+
+    /**
+     * A single failed rule
+     */
+    public static class Error {
+        private final int row;
+        private final String field;
+        private final String message;
+
+        public Error(int row, String field, String message) {
+            this.row = row;
+            this.field = field;
+            this.message = message;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "#" + row + " " + field + ": " + message;
+        }
+    }
+
+    public ValidationReport(int rowCount, List<Error> errors) {
+        this.rowCount = rowCount;
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public List<Error> getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return number of rows with at least one error
+     */
+    public int getInvalidRowCount() {
+        int count = 0;
+        int lastRow = -1;
+        for (Error error : errors) {
+            if (error.getRow() != lastRow) {
+                count++;
+                lastRow = error.getRow();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the error messages without row or field, e.g. for a form dialog
+     */
+    public List<String> getMessages() {
+        List<String> messages = new ArrayList<>(errors.size());
+        for (Error error : errors) {
+            messages.add(error.getMessage());
+        }
+        return messages;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ValidationReport{rows=%d, invalidRows=%d, errors=%d}",
+                rowCount, getInvalidRowCount(), errors.size());
+    }
+}
@@ -0,0 +1,147 @@
+package com.schoolmanagement.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable list of field rules for one row type. Rules are plain functions returning an
+ * error message or null, so validating a valid row allocates nothing. Validators are thread-safe
+ * and meant to be built once and shared (see Validators).
+ * @param <T> the validated row type
+ */
+public final class Validator<T> {
+    // Below this many rows the fork/join overhead outweighs the work
+    private static final int PARALLEL_THRESHOLD = 1_000;
+
+    /**
+     * A single rule
+     * @param <T> the validated row type
+     */
+    @FunctionalInterface
+    public interface Check<T> {
+        /**
+         * @param row the row to check
+         * @return the error message, or null if the row passes
+         */
+        String apply(T row);
+    }
+
+    private final String[] fields;
+    private final List<Check<T>> checks;
+
+    private Validator(List<String> fields, List<Check<T>> checks) {
+        this.fields = fields.toArray(new String[0]);
+        this.checks = new ArrayList<>(checks);
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Validate a single row, e.g. a form
+     * @param row the row to validate
+     * @return the report for row 0
+     */
+    public ValidationReport validate(T row) {
+        List<ValidationReport.Error> errors = check(0, row);
+        return new ValidationReport(1, errors != null ? errors : new ArrayList<>());
+    }
+
+    /**
+     * Validate many rows, e.g. an import. Large inputs are checked in parallel.
+     * @param rows the rows to validate
+     * @return every error, in row order
+     */
+    public ValidationReport validateAll(List<? extends T> rows) {
+        IntStream indexes = IntStream.range(0, rows.size());
+        if (rows.size() >= PARALLEL_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        // An ordered collect keeps row order even when run in parallel
+        List<List<ValidationReport.Error>> perRow = indexes
+                .mapToObj(i -> check(i, rows.get(i)))
+                .collect(Collectors.toList());
+
+        List<ValidationReport.Error> errors = new ArrayList<>();
+        for (List<ValidationReport.Error> rowErrors : perRow) {
+            if (rowErrors != null) {
+                errors.addAll(rowErrors);
+            }
+        }
+        return new ValidationReport(rows.size(), errors);
+    }
+
+    /**
+     * @return the row's errors, or null if it is valid
+     */
+    private List<ValidationReport.Error> check(int index, T row) {
+        List<ValidationReport.Error> errors = null;
+        for (int i = 0; i < fields.length; i++) {
+            String message = checks.get(i).apply(row);
+            if (message != null) {
+                if (errors == null) {
+                    errors = new ArrayList<>(2);
+                }
+                errors.add(new ValidationReport.Error(index, fields[i], message));
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Builder collecting rules in evaluation order. Format and length rules skip blank
+     * values, so an optional field is only checked when filled in; pair them with required().
+     * @param <T> the validated row type
+     */
+    public static final class Builder<T> {
+        private final List<String> fields = new ArrayList<>();
+        private final List<Check<T>> checks = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder<T> check(String field, Check<T> check) {
+            fields.add(field);
+            checks.add(check);
+            return this;
+        }
+
+        public Builder<T> required(String field, Function<T, ? extends CharSequence> getter, String message) {
+            return check(field, row -> Validators.isBlank(getter.apply(row)) ? message : null);
+        }
+
+        public Builder<T> maxLength(String field, Function<T, ? extends CharSequence> getter, int max) {
+            String message = field + " must be at most " + max + " characters";
+            return check(field, row -> {
+                CharSequence value = getter.apply(row);
+                return value != null && value.length() > max ? message : null;
+            });
+        }
+
+        public Builder<T> email(String field, Function<T, ? extends CharSequence> getter, String message) {
+            return check(field, row -> {
+                CharSequence value = getter.apply(row);
+                return !Validators.isBlank(value) && !Validators.isValidEmail(value) ? message : null;
+            });
+        }
+
+        /**
+         * Match a precompiled pattern; for rules that are not hot enough to deserve a scanner
+         */
+        public Builder<T> matches(String field, Function<T, ? extends CharSequence> getter, Pattern pattern, String message) {
+            return check(field, row -> {
+                CharSequence value = getter.apply(row);
+                return !Validators.isBlank(value) && !pattern.matcher(value).matches() ? message : null;
+            });
+        }
+
+        public Validator<T> build() {
+            return new Validator<>(fields, checks);
+        }
+    }
+}
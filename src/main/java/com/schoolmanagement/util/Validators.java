@@ -0,0 +1,180 @@
+package com.schoolmanagement.util;
+
+import com.schoolmanagement.config.AppConfig;
+import com.schoolmanagement.model.StudentEnrollment;
+
+import java.time.LocalDate;
+import java.util.regex.Pattern;
+
+/**
+ * Shared validation rules. The hot rules (blank, email, password, ISO date) are single-pass
+ * character scanners that neither compile regexes nor throw; the rest use precompiled patterns.
+ */
+public final class Validators {
+    private static final int MIN_PASSWORD_LENGTH = AppConfig.getIntProperty("security.password.minlength", 6);
+
+    /** Digits, spaces and the usual phone punctuation */
+    public static final Pattern PHONE = Pattern.compile("[0-9+()\\-. ]{3,20}");
+
+    /**
+     * Rules for a student enrollment, used by the student form and by bulk imports.
+     * Lengths follow the users and students columns.
+     */
+    public static final Validator<StudentEnrollment> STUDENT_ENROLLMENT = Validator.<StudentEnrollment>builder()
+        .required("firstName", e -> e.getStudent().getFirstName(), "First name is required")
+        .maxLength("firstName", e -> e.getStudent().getFirstName(), 50)
+        .required("lastName", e -> e.getStudent().getLastName(), "Last name is required")
+        .maxLength("lastName", e -> e.getStudent().getLastName(), 50)
+        .required("email", StudentEnrollment::getEmail, "Email is required")
+        .email("email", StudentEnrollment::getEmail, "Invalid email format")
+        .maxLength("email", StudentEnrollment::getEmail, 100)
+        .required("username", StudentEnrollment::getUsername, "Username is required")
+        .maxLength("username", StudentEnrollment::getUsername, 50)
+        // Blank means "generate one" (the student form does); the DAO requires it for bulk enrollment
+        .check("password", e -> isBlank(e.getPassword()) || isValidPassword(e.getPassword()) ? null
+                : "Password must be at least " + MIN_PASSWORD_LENGTH + " characters with a letter and a digit")
+        .required("studentNumber", e -> e.getStudent().getStudentNumber(), "Student number is required")
+        .maxLength("studentNumber", e -> e.getStudent().getStudentNumber(), 20)
+        .matches("phoneNumber", e -> e.getStudent().getPhoneNumber(), PHONE, "Invalid phone number")
+        .matches("parentContact", e -> e.getStudent().getParentContact(), PHONE, "Invalid parent contact number")
+        .check("gender", e -> e.getStudent().getGender() == null ? "Gender is required" : null)
+        .check("dateOfBirth", e -> e.getStudent().getDateOfBirth() == null ? "Date of birth is required" : null)
+        .check("enrollmentDate", e -> {
+            LocalDate dob = e.getStudent().getDateOfBirth();
+            LocalDate enrollment = e.getStudent().getEnrollmentDate();
+            return dob != null && enrollment != null && enrollment.isBefore(dob)
+                    ? "Enrollment date cannot be before date of birth" : null;
+        })
+        .check("graduationDate", e -> {
+            LocalDate enrollment = e.getStudent().getEnrollmentDate();
+            LocalDate graduation = e.getStudent().getGraduationDate();
+            return graduation != null && enrollment != null && graduation.isBefore(enrollment)
+                    ? "Graduation date cannot be before enrollment date" : null;
+        })
+        .build();
+
+    private Validators() {
+    }
+
+    /**
+     * @param value the value to check
+     * @return true if the value is null or only whitespace (as String.trim() sees it)
+     */
+    public static boolean isBlank(CharSequence value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Scanner equivalent of ^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,}$
+     * @param email the address to check
+     * @return true if the address is well formed
+     */
+    public static boolean isValidEmail(CharSequence email) {
+        if (email == null) {
+            return false;
+        }
+        int length = email.length();
+        int at = -1;
+        for (int i = 0; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                at = i;
+                break;
+            }
+            if (!isAsciiAlphanumeric(c) && c != '+' && c != '_' && c != '.' && c != '-') {
+                return false;
+            }
+        }
+        if (at < 1) {
+            return false;
+        }
+
+        // The top-level domain has no dots, so it must follow the last dot of the domain
+        int lastDot = -1;
+        for (int i = at + 1; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                lastDot = i;
+            } else if (!isAsciiAlphanumeric(c) && c != '-') {
+                return false;
+            }
+        }
+        if (lastDot < at + 2 || length - lastDot - 1 < 2) {
+            return false;
+        }
+        for (int i = lastDot + 1; i < length; i++) {
+            if (!isAsciiLetter(email.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param password the password to check
+     * @return true if it has the minimum length and at least one ASCII letter and one digit
+     */
+    public static boolean isValidPassword(CharSequence password) {
+        if (password == null || password.length() < MIN_PASSWORD_LENGTH) {
+            return false;
+        }
+        boolean hasLetter = false;
+        boolean hasDigit = false;
+        for (int i = 0; i < password.length() && !(hasLetter && hasDigit); i++) {
+            char c = password.charAt(i);
+            hasLetter |= isAsciiLetter(c);
+            hasDigit |= c >= '0' && c <= '9';
+        }
+        return hasLetter && hasDigit;
+    }
+
+    /**
+     * Parse a yyyy-MM-dd date without throwing
+     * @param text the date text
+     * @return the date, or null if the text is not a valid ISO date
+     */
+    public static LocalDate parseIsoDate(CharSequence text) {
+        if (text == null || text.length() != 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return null;
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1) {
+            return null;
+        }
+        LocalDate firstOfMonth = LocalDate.of(year, month, 1);
+        return day <= firstOfMonth.lengthOfMonth() ? firstOfMonth.withDayOfMonth(day) : null;
+    }
+
+    /**
+     * @return the decimal value of text[from, to), or -1 if it contains a non-digit
+     */
+    private static int digits(CharSequence text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiAlphanumeric(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9');
+    }
+}